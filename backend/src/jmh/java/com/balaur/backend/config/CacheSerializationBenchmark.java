@@ -0,0 +1,107 @@
+package com.balaur.backend.config;
+
+import com.balaur.backend.cache.SalaryPageIndex;
+import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.PageInfo;
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Redis side of a cache hit: a salary entry and a page index through the cache value serializer from
+ * {@link RedisConfig} (both codecs), and the {@code objectMapper.convertValue} that turns what the JSON codec reads
+ * back into the cached types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializationBenchmark {
+    @Param({"json", RedisConfig.CACHE_CODEC_BINARY})
+    private String codec;
+
+    private ObjectMapper objectMapper;
+    private RedisSerializer<Object> serializer;
+    private SalaryResponse salary;
+    private SalaryPageIndex pageIndex;
+    private byte[] serializedSalary;
+    private byte[] serializedPageIndex;
+    private Object readSalary;
+    private Object readPageIndex;
+
+    @Setup
+    public void setUp() {
+        RedisConfig redisConfig = new RedisConfig();
+        objectMapper = redisConfig.objectMapper();
+        serializer = redisConfig.cacheValueSerializer(codec);
+
+        salary = SalaryResponse.builder()
+                .salaryId(42L)
+                .salary(new BigDecimal("5123.45"))
+                .salaryDate(LocalDateTime.of(2024, 3, 1, 9, 30))
+                .employee("John Doe")
+                .links(LinkUtils.generateLinks("get", "v1", "42"))
+                .build();
+        List<Long> ids = new ArrayList<>(50);
+        for (long id = 1; id <= 50; id++) {
+            ids.add(id);
+        }
+        pageIndex = new SalaryPageIndex(ids, List.of(LinkUtils.generateNextLink("v1", 50L, 50, "id")),
+                PageInfo.builder().size(50).sort("id").nextCursor(50L).totalElements(100_000).build());
+
+        serializedSalary = serializer.serialize(salary);
+        serializedPageIndex = serializer.serialize(pageIndex);
+        readSalary = serializer.deserialize(serializedSalary);
+        readPageIndex = serializer.deserialize(serializedPageIndex);
+    }
+
+    @Benchmark
+    public Object salaryRoundTrip() {
+        return serializer.deserialize(serializer.serialize(salary));
+    }
+
+    @Benchmark
+    public Object pageIndexRoundTrip() {
+        return serializer.deserialize(serializer.serialize(pageIndex));
+    }
+
+    @Benchmark
+    public Object readSalary() {
+        return serializer.deserialize(serializedSalary);
+    }
+
+    @Benchmark
+    public Object readPageIndex() {
+        return serializer.deserialize(serializedPageIndex);
+    }
+
+    // What SalaryCache does with every value it reads: a no-op for the binary codec, a map conversion for JSON
+    @Benchmark
+    public SalaryResponse convertSalary() {
+        return readSalary instanceof SalaryResponse cached ? cached : objectMapper.convertValue(readSalary, SalaryResponse.class);
+    }
+
+    @Benchmark
+    public SalaryPageIndex convertPageIndex() {
+        return readPageIndex instanceof SalaryPageIndex cached ? cached : objectMapper.convertValue(readPageIndex, SalaryPageIndex.class);
+    }
+}
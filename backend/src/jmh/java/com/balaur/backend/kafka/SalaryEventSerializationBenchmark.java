@@ -0,0 +1,65 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.config.RedisConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bytes behind one salary message. {@link SalaryEventOutbox} writes the JSON payload, {@link SalaryKafkaProducer}
+ * sends it through the {@link StringSerializer} and {@link SalaryKafkaConsumer} reads it back from the
+ * {@link StringDeserializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalaryEventSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private StringSerializer stringSerializer;
+    private StringDeserializer stringDeserializer;
+    private SalaryEvent event;
+    private byte[] message;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new RedisConfig().objectMapper();
+        stringSerializer = new StringSerializer();
+        stringDeserializer = new StringDeserializer();
+        event = SalaryEvent.builder()
+                .eventType(SalaryEventType.UPDATED)
+                .salaryId(42L)
+                .salary(new BigDecimal("5123.45"))
+                .employee("John Doe")
+                .salaryDate(LocalDateTime.of(2024, 3, 1, 9, 30))
+                .build();
+        message = stringSerializer.serialize(SalaryKafkaProducer.TOPIC, objectMapper.writeValueAsString(event));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return stringSerializer.serialize(SalaryKafkaProducer.TOPIC, objectMapper.writeValueAsString(event));
+    }
+
+    @Benchmark
+    public SalaryEvent deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(stringDeserializer.deserialize(SalaryKafkaProducer.TOPIC, message), SalaryEvent.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.balaur.backend.responses;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Run with {@code mvn test -Pbenchmarks -Djmh.includes=LinkUtils}; the profile's {@code -prof gc} reports
+ * {@code gc.alloc.rate.norm}: the bytes allocated per row by {@link LinkUtils#generateLinks(String, String, String)}
+ * against the per-row template rendering it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkUtilsBenchmark {
+    private long id;
+
+    // A new id every call, like the rows of a page
+    private String nextId() {
+        return String.valueOf(++id);
+    }
+
+    @Benchmark
+    public List<Link> generateLinks() {
+        return LinkUtils.generateLinks("get", "v1", nextId());
+    }
+
+    @Benchmark
+    public List<Link> templateRenderedLinks() {
+        return templateRenderedLinks("get", "v1", nextId());
+    }
+
+    @Benchmark
+    public List<Link> generateErrorLink() {
+        return LinkUtils.generateErrorLink("edit", "PATCH", "v1", nextId());
+    }
+
+    // The rendering generateLinks used before: four template links and a stream per row, then four copies
+    private static List<Link> templateRenderedLinks(String method, String version, String id) {
+        List<Link> links = List.of(
+                new Link("get", "/api/" + version + "/salaries", "GET", version),
+                new Link("add", "/api/" + version + "/salaries/add", "POST", version),
+                new Link("edit", "/api/" + version + "/salaries/edit/{id}", "PATCH", version),
+                new Link("delete", "/api/" + version + "/salaries/delete/{id}", "DELETE", version)
+        );
+
+        return links.stream()
+                .map(link -> {
+                    String href = link.getHref().replace("{id}", id);
+                    String rel = link.getMethod().equalsIgnoreCase(method) ? "self" : link.getRel();
+
+                    return new Link(rel, href, link.getMethod(), link.getVersion());
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.config.RedisConfig;
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.PageInfo;
+import com.balaur.backend.responses.SalariesResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SalaryService#buildSalariesResponseWrapper} over 1k, 100k and 1M loaded salaries, with per-row links (the
+ * full links mode) and without (what the page cache stores).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SalaryResponseBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean withLinks;
+
+    private SalaryService salaryService;
+    private List<Salary> salaries;
+    private PageInfo pageInfo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Building a page touches no collaborator but the links
+        salaryService = new SalaryService(null, null, null, null, new RedisConfig().objectMapper(), null, null);
+        salaries = new ArrayList<>(rows);
+        LocalDateTime salaryDate = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (long id = 1; id <= rows; id++) {
+            Salary salary = new Salary();
+            salary.setId(id);
+            salary.setSalary(BigDecimal.valueOf(1000 + id % 9000, 2));
+            salary.setEmployee("Employee " + id % 5000);
+            salary.setSalaryDate(salaryDate.plusMinutes(id));
+            salaries.add(salary);
+        }
+        pageInfo = PageInfo.builder().size(rows).sort("id").totalElements(rows).build();
+    }
+
+    @Benchmark
+    public SalariesResponseWrapper buildSalariesResponseWrapper() {
+        List<Link> mainLinks = new ArrayList<>();
+        mainLinks.add(new Link("self", "/api/v1/salaries", "GET", "v1"));
+        return salaryService.buildSalariesResponseWrapper(salaries, mainLinks, pageInfo, withLinks);
+    }
+}
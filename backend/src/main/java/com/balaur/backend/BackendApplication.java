@@ -5,9 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @Slf4j
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = "com.balaur.backend")
 public class BackendApplication {
 //    private static Environment env;
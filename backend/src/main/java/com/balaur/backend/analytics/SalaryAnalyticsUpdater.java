@@ -0,0 +1,165 @@
+package com.balaur.backend.analytics;
+
+import com.balaur.backend.config.KafkaConfig;
+import com.balaur.backend.kafka.SalaryEvent;
+import com.balaur.backend.kafka.SalaryKafkaProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads {@link SalaryColumnStore} from the database once the application is ready, then keeps it current from
+ * {@code salary-topic}.
+ * <p>
+ * Every instance needs every event, so the listener joins a consumer group of its own instead of the shared one,
+ * named after {@code salaries.analytics.instance-id}, which has to differ between instances and stay the same across
+ * restarts. If the snapshot can't be loaded at startup, loading is retried every
+ * {@code salaries.analytics.snapshot-retry-interval}. The listener only starts after the snapshot is loaded and
+ * first seeks to the snapshot start minus
+ * {@code salaries.analytics.replay-margin}: events relayed while the snapshot was read are replayed on top of it,
+ * which is safe because events carry the whole salary and a salary's events stay in order on its partition.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "salaries.analytics.enabled", havingValue = "true")
+public class SalaryAnalyticsUpdater extends AbstractConsumerSeekAware {
+    static final String LISTENER_ID = "salaryAnalytics";
+
+    private static final String SELECT_SALARIES =
+            "SELECT id, salary, employee, salary_date FROM salaries WHERE salary IS NOT NULL AND employee IS NOT NULL";
+    private static final String ESTIMATE_COUNT =
+            "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'salaries'::regclass";
+
+    private final SalaryColumnStore salaryColumnStore;
+    private final ObjectMapper mapper;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final JdbcTemplate snapshotJdbcTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final Duration replayMargin;
+    private final Set<TopicPartition> replayedPartitions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private volatile Instant replayFrom;
+
+    public SalaryAnalyticsUpdater(SalaryColumnStore salaryColumnStore,
+                                  ObjectMapper mapper,
+                                  KafkaListenerEndpointRegistry listenerRegistry,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${salaries.analytics.replay-margin:PT1M}") Duration replayMargin) {
+        this.salaryColumnStore = salaryColumnStore;
+        this.mapper = mapper;
+        this.listenerRegistry = listenerRegistry;
+        this.replayMargin = replayMargin;
+
+        // PgJDBC only streams with a fetch size inside a transaction, otherwise it reads the whole result at once
+        this.snapshotJdbcTemplate = new JdbcTemplate(dataSource);
+        this.snapshotJdbcTemplate.setFetchSize(10_000);
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        if (salaryColumnStore.isLoaded() || !loading.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            load();
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    // For a snapshot that failed at startup, e.g. while the database wasn't reachable; a no-op once one is loaded
+    @Scheduled(initialDelayString = "${salaries.analytics.snapshot-retry-interval:PT30S}",
+            fixedDelayString = "${salaries.analytics.snapshot-retry-interval:PT30S}")
+    public void retrySnapshot() {
+        loadSnapshot();
+    }
+
+    private void load() {
+        Instant startedAt = Instant.now();
+        long startNanos = System.nanoTime();
+
+        SalaryColumns snapshot;
+        try {
+            snapshot = snapshotTransactionTemplate.execute(status -> {
+                Long estimate = snapshotJdbcTemplate.queryForObject(ESTIMATE_COUNT, Long.class);
+                SalaryColumns columns = new SalaryColumns((int) Math.min(estimate == null ? 0 : estimate, Integer.MAX_VALUE - 8));
+
+                snapshotJdbcTemplate.query(SELECT_SALARIES, rs -> {
+                    columns.upsert(rs.getLong("id"),
+                            SalaryColumnStore.toCents(rs.getBigDecimal("salary")),
+                            SalaryColumnStore.toEpochDay(rs.getObject("salary_date", LocalDateTime.class)),
+                            rs.getString("employee"));
+                });
+                return columns;
+            });
+        } catch (Exception e) {
+            log.error("[SalaryAnalyticsUpdater.load] Could not load the salary analytics snapshot, retrying later: {}", e.getMessage());
+            return;
+        }
+
+        salaryColumnStore.replaceAll(snapshot);
+        replayFrom = startedAt.minus(replayMargin);
+        log.info("[SalaryAnalyticsUpdater.load] Loaded {} salaries ({} KB) in {} ms, replaying events from {}.",
+                snapshot.size, snapshot.footprintBytes() / 1024, (System.nanoTime() - startNanos) / 1_000_000, replayFrom);
+
+        listenerRegistry.getListenerContainer(LISTENER_ID).start();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+
+        // Only the first assignment replays; after a rebalance the committed offsets are where to resume
+        List<TopicPartition> partitions = assignments.keySet().stream().filter(replayedPartitions::add).toList();
+        if (!partitions.isEmpty() && replayFrom != null) {
+            callback.seekToTimestamp(partitions, replayFrom.toEpochMilli());
+        }
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = SalaryKafkaProducer.TOPIC, autoStartup = "false",
+            groupId = "${spring.application.name}-analytics-${salaries.analytics.instance-id:${HOSTNAME:localhost}}",
+            properties = "auto.offset.reset=latest", containerFactory = KafkaConfig.SALARY_ANALYTICS_LISTENER_FACTORY)
+    public void consumeSalaryMessages(List<ConsumerRecord<String, String>> records) {
+        List<SalaryEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                events.add(mapper.readValue(record.value(), SalaryEvent.class));
+            } catch (Exception e) {
+                // The shared consumer already sends this record to the dead-letter topic
+                log.warn("[SalaryAnalyticsUpdater.consumeSalaryMessages] Skipped unreadable salary event at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+            }
+        }
+
+        salaryColumnStore.applyAll(events);
+    }
+}
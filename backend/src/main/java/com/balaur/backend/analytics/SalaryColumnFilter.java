@@ -0,0 +1,13 @@
+package com.balaur.backend.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row filter for {@link SalaryColumnStore} queries; null fields don't filter. Dates are compared by day, from
+ * inclusive and to exclusive, and salaries without a date never match a date range. Salary bounds are inclusive.
+ */
+public record SalaryColumnFilter(String employee, LocalDate from, LocalDate to,
+                                 BigDecimal minSalary, BigDecimal maxSalary) {
+    public static final SalaryColumnFilter NONE = new SalaryColumnFilter(null, null, null, null, null);
+}
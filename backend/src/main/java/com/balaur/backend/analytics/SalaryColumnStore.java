@@ -0,0 +1,360 @@
+package com.balaur.backend.analytics;
+
+import com.balaur.backend.kafka.SalaryEvent;
+import com.balaur.backend.kafka.SalaryEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory columnar copy of the salaries table for ad-hoc analysis ({@code salaries.analytics.enabled}).
+ * <p>
+ * Queries hold the read lock and scan the columns in chunks of {@code salaries.analytics.chunk-size} rows,
+ * chunks in parallel on the common fork-join pool; salary events are applied under the write lock. Salaries
+ * without an amount or an employee are left out, as in the stored aggregates. Totals are summed in cents as
+ * {@code long}, which holds about 92 trillion in salary.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "salaries.analytics.enabled", havingValue = "true")
+public class SalaryColumnStore {
+    public static final String GROUP_BY_EMPLOYEE = "employee";
+    public static final String GROUP_BY_MONTH = "month";
+
+    private static final int ANY_EMPLOYEE = -1;
+    private static final int NO_EMPLOYEE = -2;
+
+    private final StampedLock lock = new StampedLock();
+    private final int chunkSize;
+
+    // Guarded by lock
+    private SalaryColumns columns = new SalaryColumns();
+    private volatile boolean loaded;
+
+    public SalaryColumnStore(@Value("${salaries.analytics.chunk-size:65536}") int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Swaps in a snapshot built off-lock, so queries keep running on the old columns while it loads.
+     */
+    void replaceAll(SalaryColumns snapshot) {
+        long stamp = lock.writeLock();
+        try {
+            columns = snapshot;
+            loaded = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Applies a batch of events under one write lock. Events carry the whole salary, so replaying one is harmless.
+     */
+    public void applyAll(List<SalaryEvent> events) {
+        long stamp = lock.writeLock();
+        try {
+            for (SalaryEvent event : events) {
+                try {
+                    apply(columns, event);
+                } catch (ArithmeticException e) {
+                    log.warn("[SalaryColumnStore.applyAll] Skipped {} event for salary id: {}: {}",
+                            event.getEventType(), event.getSalaryId(), e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    static void apply(SalaryColumns columns, SalaryEvent event) {
+        if (event.getEventType() == SalaryEventType.DELETED || event.getSalary() == null || event.getEmployee() == null) {
+            columns.remove(event.getSalaryId());
+        } else {
+            columns.upsert(event.getSalaryId(), toCents(event.getSalary()), toEpochDay(event.getSalaryDate()), event.getEmployee());
+        }
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static int toEpochDay(LocalDateTime salaryDate) {
+        return salaryDate == null ? SalaryColumns.NO_DATE : (int) salaryDate.toLocalDate().toEpochDay();
+    }
+
+    public Summary summarize(SalaryColumnFilter filter, double... percentiles) {
+        long stamp = lock.readLock();
+        try {
+            SalaryColumns c = columns;
+            Bounds bounds = Bounds.of(c, filter);
+            boolean keepMatches = percentiles.length > 0;
+
+            List<Partial> partials = scanChunks(c.size, (from, to) -> {
+                Partial partial = new Partial(keepMatches ? new long[to - from] : null);
+                if (bounds.employeeCode() == NO_EMPLOYEE) {
+                    return partial;
+                }
+
+                long[] cents = c.cents;
+                for (int row = from; row < to; row++) {
+                    if (bounds.matches(c, row)) {
+                        partial.add(cents[row]);
+                    }
+                }
+                return partial;
+            });
+
+            Partial total = new Partial(null);
+            int matches = 0;
+            for (Partial partial : partials) {
+                total.merge(partial);
+                matches += partial.count;
+            }
+
+            long[] percentileCents = new long[percentiles.length];
+            if (keepMatches && matches > 0) {
+                long[] sorted = new long[matches];
+                int offset = 0;
+                for (Partial partial : partials) {
+                    System.arraycopy(partial.matches, 0, sorted, offset, (int) partial.count);
+                    offset += (int) partial.count;
+                }
+                Arrays.parallelSort(sorted);
+
+                // Nearest rank: the smallest value with at least p% of the matches at or below it
+                for (int i = 0; i < percentiles.length; i++) {
+                    int rank = (int) Math.ceil(percentiles[i] / 100.0 * matches);
+                    percentileCents[i] = sorted[Math.max(rank, 1) - 1];
+                }
+            }
+
+            return new Summary(c.size, total.count, total.totalCents,
+                    total.count == 0 ? 0 : total.minCents, total.count == 0 ? 0 : total.maxCents,
+                    percentileCents, c.footprintBytes());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Count and total per employee or per {@code YYYY-MM} month, ordered by key. Every chunk sums into plain
+     * arrays indexed by employee code or month, which are added up at the end.
+     */
+    public List<Group> groupBy(String dimension, SalaryColumnFilter filter) {
+        long stamp = lock.readLock();
+        try {
+            SalaryColumns c = columns;
+            Bounds bounds = Bounds.of(c, filter);
+            if (bounds.employeeCode() == NO_EMPLOYEE) {
+                return List.of();
+            }
+
+            boolean byMonth = GROUP_BY_MONTH.equals(dimension);
+            if (byMonth && c.minEpochDay > c.maxEpochDay) {
+                return List.of();
+            }
+
+            int firstMonth = byMonth ? epochMonth(c.minEpochDay) : 0;
+            int groupCount = byMonth ? epochMonth(c.maxEpochDay) - firstMonth + 1 : c.employeeCount();
+
+            List<long[][]> partials = scanChunks(c.size, (from, to) -> {
+                long[] counts = new long[groupCount];
+                long[] totals = new long[groupCount];
+                long[] cents = c.cents;
+                int[] epochDays = c.epochDays;
+                int[] employeeCodes = c.employeeCodes;
+
+                for (int row = from; row < to; row++) {
+                    if (!bounds.matches(c, row)) {
+                        continue;
+                    }
+
+                    int group;
+                    if (byMonth) {
+                        if (epochDays[row] == SalaryColumns.NO_DATE) {
+                            continue;
+                        }
+                        group = epochMonth(epochDays[row]) - firstMonth;
+                    } else {
+                        group = employeeCodes[row];
+                    }
+
+                    counts[group]++;
+                    totals[group] += cents[row];
+                }
+                return new long[][]{counts, totals};
+            });
+
+            long[] counts = new long[groupCount];
+            long[] totals = new long[groupCount];
+            for (long[][] partial : partials) {
+                for (int group = 0; group < groupCount; group++) {
+                    counts[group] += partial[0][group];
+                    totals[group] += partial[1][group];
+                }
+            }
+
+            List<Group> groups = new ArrayList<>();
+            for (int group = 0; group < groupCount; group++) {
+                if (counts[group] > 0) {
+                    String key = byMonth ? monthKey(firstMonth + group) : c.employee(group);
+                    groups.add(new Group(key, counts[group], totals[group]));
+                }
+            }
+            groups.sort(Comparator.comparing(Group::key));
+            return groups;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Months since 1970-01, from the days-to-civil-date conversion in java.time without allocating a LocalDate
+    static int epochMonth(int epochDay) {
+        long zeroDay = epochDay + 719528L - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / 146097 - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * 146097;
+        }
+
+        long yearEst = (400 * zeroDay + 591) / 146097;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        long year = yearEst + marchMonth0 / 10;
+        return (int) ((year - 1970) * 12 + month - 1);
+    }
+
+    private static String monthKey(int epochMonth) {
+        return YearMonth.of(1970 + Math.floorDiv(epochMonth, 12), Math.floorMod(epochMonth, 12) + 1).toString();
+    }
+
+    private <T> List<T> scanChunks(int rows, ChunkScan<T> scan) {
+        int chunks = Math.max(1, (int) ((rows + (long) chunkSize - 1) / chunkSize));
+        if (chunks == 1) {
+            return List.of(scan.scan(0, rows));
+        }
+
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan.scan(chunk * chunkSize, (int) Math.min(rows, (long) (chunk + 1) * chunkSize)))
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface ChunkScan<T> {
+        T scan(int fromRow, int toRow);
+    }
+
+    public record Summary(int rows, long count, long totalCents, long minCents, long maxCents,
+                          long[] percentileCents, long footprintBytes) {
+    }
+
+    public record Group(String key, long count, long totalCents) {
+    }
+
+    private static final class Partial {
+        private final long[] matches;
+        private long count;
+        private long totalCents;
+        private long minCents = Long.MAX_VALUE;
+        private long maxCents = Long.MIN_VALUE;
+
+        private Partial(long[] matches) {
+            this.matches = matches;
+        }
+
+        private void add(long cents) {
+            if (matches != null) {
+                matches[(int) count] = cents;
+            }
+            count++;
+            totalCents += cents;
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+        }
+
+        private void merge(Partial other) {
+            count += other.count;
+            totalCents += other.totalCents;
+            minCents = Math.min(minCents, other.minCents);
+            maxCents = Math.max(maxCents, other.maxCents);
+        }
+    }
+
+    /**
+     * The filter resolved against the columns: the employee as a dictionary code and dates and amounts as the
+     * primitives stored in them.
+     */
+    private record Bounds(int employeeCode, boolean hasDates, int fromDay, int toDay, long minCents, long maxCents) {
+        static Bounds of(SalaryColumns columns, SalaryColumnFilter filter) {
+            int employeeCode = ANY_EMPLOYEE;
+            if (filter.employee() != null) {
+                int code = columns.findEmployeeCode(filter.employee());
+                employeeCode = code < 0 ? NO_EMPLOYEE : code;
+            }
+
+            return new Bounds(employeeCode,
+                    filter.from() != null || filter.to() != null,
+                    filter.from() == null ? Integer.MIN_VALUE : epochDay(filter.from()),
+                    filter.to() == null ? Integer.MAX_VALUE : epochDay(filter.to()),
+                    filter.minSalary() == null ? Long.MIN_VALUE : boundCents(filter.minSalary(), RoundingMode.CEILING),
+                    filter.maxSalary() == null ? Long.MAX_VALUE : boundCents(filter.maxSalary(), RoundingMode.FLOOR));
+        }
+
+        boolean matches(SalaryColumns columns, int row) {
+            if (employeeCode != ANY_EMPLOYEE && columns.employeeCodes[row] != employeeCode) {
+                return false;
+            }
+
+            long cents = columns.cents[row];
+            if (cents < minCents || cents > maxCents) {
+                return false;
+            }
+
+            if (hasDates) {
+                int day = columns.epochDays[row];
+                return day != SalaryColumns.NO_DATE && day >= fromDay && day < toDay;
+            }
+            return true;
+        }
+
+        private static int epochDay(LocalDate date) {
+            return (int) Math.max(Integer.MIN_VALUE + 1, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+        }
+
+        // Bounds beyond what the columns can hold clamp to the long range
+        private static long boundCents(BigDecimal amount, RoundingMode roundingMode) {
+            BigDecimal cents = amount.setScale(2, roundingMode).movePointRight(2);
+            if (cents.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+                return Long.MAX_VALUE;
+            }
+            return cents.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0 ? Long.MIN_VALUE : cents.longValueExact();
+        }
+    }
+}
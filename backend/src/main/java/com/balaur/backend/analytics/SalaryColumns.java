@@ -0,0 +1,238 @@
+package com.balaur.backend.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Salary rows stored column by column in primitive arrays: ids, amounts in cents, salary dates as epoch days
+ * and employees as codes into a dictionary. A row costs 24 bytes plus its slot in the id index, against a few
+ * hundred bytes for a {@code Salary} entity with its {@code BigDecimal}, {@code String} and {@code LocalDateTime}.
+ * <p>
+ * Rows are kept dense: removing one moves the last row into its place. Not thread-safe, {@link SalaryColumnStore}
+ * guards it.
+ */
+final class SalaryColumns {
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    long[] ids;
+    long[] cents;
+    int[] epochDays;
+    int[] employeeCodes;
+    int size;
+
+    // Bounds of every salary date stored so far; removals don't shrink them
+    int minEpochDay = Integer.MAX_VALUE;
+    int maxEpochDay = Integer.MIN_VALUE;
+
+    private final List<String> employees = new ArrayList<>();
+    private final Map<String, Integer> employeeCodesByName = new HashMap<>();
+    private final RowIndex rowIndex;
+
+    SalaryColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    SalaryColumns(int capacity) {
+        capacity = Math.max(capacity, 16);
+        ids = new long[capacity];
+        cents = new long[capacity];
+        epochDays = new int[capacity];
+        employeeCodes = new int[capacity];
+        rowIndex = new RowIndex(capacity);
+    }
+
+    void upsert(long id, long amountCents, int epochDay, String employee) {
+        int row = rowIndex.get(id);
+        if (row < 0) {
+            ensureCapacity(size + 1);
+            row = size++;
+            ids[row] = id;
+            rowIndex.put(id, row);
+        }
+
+        cents[row] = amountCents;
+        epochDays[row] = epochDay;
+        employeeCodes[row] = employeeCode(employee);
+
+        if (epochDay != NO_DATE) {
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+        }
+    }
+
+    void remove(long id) {
+        int row = rowIndex.remove(id);
+        if (row < 0) {
+            return;
+        }
+
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            cents[row] = cents[last];
+            epochDays[row] = epochDays[last];
+            employeeCodes[row] = employeeCodes[last];
+            rowIndex.put(ids[row], row);
+        }
+    }
+
+    boolean contains(long id) {
+        return rowIndex.get(id) >= 0;
+    }
+
+    // -1 for an employee that has never been stored
+    int findEmployeeCode(String employee) {
+        Integer code = employeeCodesByName.get(employee);
+        return code == null ? -1 : code;
+    }
+
+    String employee(int code) {
+        return employees.get(code);
+    }
+
+    int employeeCount() {
+        return employees.size();
+    }
+
+    // Rough heap estimate: the arrays, the id index and the dictionary strings
+    long footprintBytes() {
+        long bytes = (long) ids.length * (Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES);
+        bytes += rowIndex.footprintBytes();
+        for (String employee : employees) {
+            bytes += 56 + employee.length() * 2L + 32;
+        }
+        return bytes;
+    }
+
+    private int employeeCode(String employee) {
+        Integer code = employeeCodesByName.get(employee);
+        if (code == null) {
+            code = employees.size();
+            employees.add(employee);
+            employeeCodesByName.put(employee, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        cents = Arrays.copyOf(cents, newCapacity);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        employeeCodes = Arrays.copyOf(employeeCodes, newCapacity);
+    }
+
+    /**
+     * Open-addressing id to row map with linear probing, so the index doesn't box a {@code Long} and an
+     * {@code Integer} per row. Removal shifts the following entries back instead of leaving tombstones.
+     */
+    private static final class RowIndex {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] rows;
+        private int mask;
+        private int size;
+
+        RowIndex(int expectedSize) {
+            allocate(Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1);
+        }
+
+        int get(long id) {
+            for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+                long key = keys[slot];
+                if (key == id) {
+                    return rows[slot];
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long id, int row) {
+            if ((size + 1) * 2L > keys.length) {
+                resize(keys.length << 1);
+            }
+
+            for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+                long key = keys[slot];
+                if (key == id) {
+                    rows[slot] = row;
+                    return;
+                }
+                if (key == EMPTY) {
+                    keys[slot] = id;
+                    rows[slot] = row;
+                    size++;
+                    return;
+                }
+            }
+        }
+
+        int remove(long id) {
+            int slot = slot(id);
+            while (keys[slot] != id) {
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int row = rows[slot];
+            int gap = slot;
+            for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = slot(keys[next]);
+                // An entry can fill the gap unless its home slot lies cyclically in (gap, next]
+                boolean homeInRange = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+                if (!homeInRange) {
+                    keys[gap] = keys[next];
+                    rows[gap] = rows[next];
+                    gap = next;
+                }
+            }
+
+            keys[gap] = EMPTY;
+            size--;
+            return row;
+        }
+
+        long footprintBytes() {
+            return (long) keys.length * (Long.BYTES + Integer.BYTES);
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            allocate(capacity);
+
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldRows[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            rows = new int[capacity];
+            mask = capacity - 1;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.balaur.backend.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-process LRU cache with a per-entry time to live.
+ * <p>
+ * Every {@link #invalidateAll()} bumps a generation counter; {@link #put(Object, Object, long)} ignores values
+ * that were loaded under an older generation, so a slow reader can't re-populate an entry that another node
+ * has invalidated in the meantime. Invalidated entries stay around as stale copies (until they expire or are
+ * evicted) for {@link #getStale(Object)}.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: on virtual threads a contended monitor
+ * blocks the carrier thread, a contended lock only parks the virtual thread.
+ */
+public class NearCache<K, V> {
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private long generation;
+
+    public NearCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > NearCache.this.maxEntries;
+            }
+        };
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = getUnexpired(key);
+            return entry == null || entry.generation() != generation ? null : entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached value even if it has been invalidated since it was loaded, as long as it hasn't expired.
+     */
+    public V getStale(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = getUnexpired(key);
+            return entry == null ? null : entry.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry<V> getUnexpired(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdAtNanos() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry;
+    }
+
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K key, V value, long loadedAtGeneration) {
+        lock.lock();
+        try {
+            if (loadedAtGeneration != generation) {
+                return;
+            }
+
+            entries.put(key, new Entry<>(value, generation, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<V>(V value, long generation, long createdAtNanos) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.balaur.backend.cache;
+
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the salary entries that {@link SalaryCache} keeps in Redis. Entries are written and
+ * invalidated by {@link SalaryCache} only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveSalaryCache {
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The cached salary, empty when it isn't cached or Redis can't be reached.
+     */
+    public Mono<SalaryResponse> getSalary(Long id) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().get(SalaryCache.SALARY_ENTRIES_KEY, String.valueOf(id))
+                .map(cachedEntry -> cachedEntry instanceof SalaryResponse salary
+                        ? salary
+                        : objectMapper.convertValue(cachedEntry, SalaryResponse.class))
+                .onErrorResume(e -> {
+                    log.error("[ReactiveSalaryCache.getSalary] Error reading salary {} from redis cache: {}", id, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.balaur.backend.cache;
+
+import org.springframework.http.HttpStatusCode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A list page rendered once to its HTTP JSON body, plus a gzip copy of it for clients that accept one.
+ * Served as is, so a hit costs a byte copy whatever the number of rows.
+ *
+ * @param gzip null when the body is too small for compression to pay off
+ */
+public record RenderedSalaryPage(HttpStatusCode status, byte[] json, byte[] gzip) {
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    public static RenderedSalaryPage of(HttpStatusCode status, byte[] json) {
+        return new RenderedSalaryPage(status, json, json.length < MIN_GZIP_BYTES ? null : gzip(json));
+    }
+
+    public int sizeBytes() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    // Compressed once per cache fill, so the slowest level is worth its smaller bodies
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {{
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }}) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+}
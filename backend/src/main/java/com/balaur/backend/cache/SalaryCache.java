@@ -0,0 +1,600 @@
+package com.balaur.backend.cache;
+
+import com.balaur.backend.requests.SalaryPageRequest;
+import com.balaur.backend.responses.SalariesResponseWrapper;
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for salary list pages: an in-process {@link NearCache} (L1) holding deserialized responses in
+ * front of Redis (L2). Invalidations are broadcast over Redis pub/sub so every backend replica drops its L1.
+ * <p>
+ * In Redis every salary is cached once, as a field of the {@value #SALARY_ENTRIES_KEY} hash, and every page only
+ * as a {@link SalaryPageIndex} of ids. Writes patch the affected entry and drop only the page indexes whose
+ * membership can change:
+ * <ul>
+ *     <li>edit: nothing for id-ordered pages, salary date pages only if the date moved;</li>
+ *     <li>add (single or bulk): the id-ordered and salary date pages, once per request;</li>
+ *     <li>delete: the salary date pages; id-ordered pages skip the missing entry on read.</li>
+ * </ul>
+ * Filtered pages are tracked per employee filter: a single write drops the pages filtered on its employee
+ * (before and after an edit) and those without an employee filter; bulk writes drop every filtered page.
+ * <p>
+ * Every write also bumps {@value #ENTRIES_GENERATION_KEY}. A page loaded from the database is only written to Redis
+ * if that generation hasn't moved since the load started, so a slow reader can't overwrite an entry a writer has
+ * just patched (or bring back one it deleted) with the row it read before the write.
+ * <p>
+ * Lookups are counted per tier and result under {@value #REQUESTS_METRIC}, and converting JSON-codec values back
+ * to responses is timed under {@value #CONVERT_METRIC}.
+ */
+@Slf4j
+@Component
+public class SalaryCache implements MessageListener {
+    public static final String INVALIDATION_CHANNEL = "salaries:invalidate";
+    public static final String REQUESTS_METRIC = "salaries.cache.requests";
+    public static final String WRITE_ERRORS_METRIC = "salaries.cache.write.errors";
+    public static final String CONVERT_METRIC = "salaries.cache.convert";
+    public static final String PAYLOAD_SIZE_METRIC = "salaries.payload.size";
+
+    private static final String SALARY_CACHE_KEY = "salaries";
+    static final String SALARY_ENTRIES_KEY = "salaries:entries";
+    private static final String SALARY_INDEX_KEY_PREFIX = "salaries:index:";
+    private static final String SALARY_INDEXES_KEY_PREFIX = "salaries:indexes:";
+    private static final String OPEN_ID_INDEXES_KEY = SALARY_INDEXES_KEY_PREFIX + "id:open";
+    private static final String SALARY_DATE_INDEXES_KEY = SALARY_INDEXES_KEY_PREFIX + SalaryPageRequest.SORT_BY_SALARY_DATE;
+    private static final String FILTERED_INDEXES_KEY = SALARY_INDEXES_KEY_PREFIX + "filtered";
+    private static final String ANY_EMPLOYEE_INDEXES_KEY = FILTERED_INDEXES_KEY + ":any-employee";
+    private static final String EMPLOYEE_INDEXES_KEY_PREFIX = FILTERED_INDEXES_KEY + ":employee:";
+    private static final String SALARY_LEASE_KEY_PREFIX = "salaries:lease:";
+    static final String ENTRIES_GENERATION_KEY = "salaries:entries:generation";
+    private static final Duration CACHE_TTL = Duration.ofMinutes(30);
+    private static final Duration LEASE_POLL_INTERVAL = Duration.ofMillis(50);
+    // Deletes the lease only if this node still owns it, so an expired lease can't release its successor
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NearCache<String, SalariesResponseWrapper> nearCache;
+    private final NearCache<String, RenderedSalaryPage> renderedPages;
+    private final ConcurrentMap<String, CompletableFuture<SalariesResponseWrapper>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Duration leaseTtl;
+    private final Duration leaseWait;
+    private final boolean serveStale;
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisErrors;
+    private final Counter renderedHits;
+    private final Counter renderedMisses;
+    private final Counter writeErrors;
+    private final Timer indexConvertTimer;
+    private final Timer entryConvertTimer;
+    private final DistributionSummary renderedJsonSize;
+    private final DistributionSummary renderedGzipSize;
+
+    public SalaryCache(RedisTemplate<String, Object> redisTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${salaries.cache.near.max-entries:256}") int nearCacheMaxEntries,
+                       @Value("${salaries.cache.near.ttl:PT1M}") Duration nearCacheTtl,
+                       @Value("${salaries.cache.lease.ttl:PT10S}") Duration leaseTtl,
+                       @Value("${salaries.cache.lease.wait:PT2S}") Duration leaseWait,
+                       @Value("${salaries.cache.serve-stale:false}") boolean serveStale,
+                       @Value("${salaries.cache.rendered.enabled:false}") boolean renderedPagesEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = new NearCache<>(nearCacheMaxEntries, nearCacheTtl);
+        this.renderedPages = renderedPagesEnabled ? new NearCache<>(nearCacheMaxEntries, nearCacheTtl) : null;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
+        this.serveStale = serveStale;
+        this.nearHits = requestCounter(meterRegistry, "near", "hit");
+        this.nearMisses = requestCounter(meterRegistry, "near", "miss");
+        this.redisHits = requestCounter(meterRegistry, "redis", "hit");
+        this.redisMisses = requestCounter(meterRegistry, "redis", "miss");
+        this.redisErrors = requestCounter(meterRegistry, "redis", "error");
+        this.renderedHits = requestCounter(meterRegistry, "rendered", "hit");
+        this.renderedMisses = requestCounter(meterRegistry, "rendered", "miss");
+        this.writeErrors = Counter.builder(WRITE_ERRORS_METRIC)
+                .description("Redis errors while patching the salaries cache after a write")
+                .register(meterRegistry);
+        this.indexConvertTimer = convertTimer(meterRegistry, "index");
+        this.entryConvertTimer = convertTimer(meterRegistry, "entry");
+        this.renderedJsonSize = payloadSize(meterRegistry, "rendered-page");
+        this.renderedGzipSize = payloadSize(meterRegistry, "rendered-page-gzip");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Salary cache lookups by tier and result")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer convertTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder(CONVERT_METRIC)
+                .description("Time spent converting cached JSON values back to responses")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry meterRegistry, String payload) {
+        return DistributionSummary.builder(PAYLOAD_SIZE_METRIC)
+                .description("Size of the payloads the backend caches or sends")
+                .baseUnit("bytes")
+                .tag("payload", payload)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the requested page, trying L1, then L2, then {@code loader}.
+     * A {@code null} result from the loader is returned as is and never cached.
+     * <p>
+     * Misses are coalesced: inside this JVM only one caller per page runs the lookup while the others wait for its
+     * result, and across replicas a short Redis lease lets only one of them run {@code loader}. Replicas that don't
+     * get the lease poll Redis for the rebuilt page (or serve their stale copy, when enabled) and only fall back to
+     * loading it themselves once {@code salaries.cache.lease.wait} has passed.
+     */
+    public SalariesResponseWrapper getPage(SalaryPageRequest pageRequest, Supplier<SalariesResponseWrapper> loader) {
+        String pageKey = pageRequest.getCacheKey();
+        SalariesResponseWrapper page = nearCache.get(pageKey);
+        if (page != null) {
+            nearHits.increment();
+            return page;
+        }
+        nearMisses.increment();
+
+        CompletableFuture<SalariesResponseWrapper> load = new CompletableFuture<>();
+        CompletableFuture<SalariesResponseWrapper> inFlightLoad = inFlightLoads.putIfAbsent(pageKey, load);
+        if (inFlightLoad != null) {
+            return awaitLoad(inFlightLoad);
+        }
+
+        try {
+            page = loadPage(pageRequest, pageKey, loader);
+            load.complete(page);
+            return page;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(pageKey, load);
+        }
+    }
+
+    public boolean isRenderedPagesEnabled() {
+        return renderedPages != null;
+    }
+
+    /**
+     * Returns the page rendered to response bytes, calling {@code renderer} (which normally goes through
+     * {@link #getPage}) on a miss. Rendered pages are kept in-process only and are invalidated together with
+     * the L1 pages; Redis keeps the per-salary entries, which writes patch in place. Only successful responses
+     * are kept.
+     */
+    public RenderedSalaryPage getRenderedPage(String renderKey, Supplier<RenderedSalaryPage> renderer) {
+        RenderedSalaryPage page = renderedPages.get(renderKey);
+        if (page != null) {
+            renderedHits.increment();
+            return page;
+        }
+        renderedMisses.increment();
+
+        long generation = renderedPages.generation();
+        page = renderer.get();
+        renderedJsonSize.record(page.json().length);
+        if (page.gzip() != null) {
+            renderedGzipSize.record(page.gzip().length);
+        }
+        if (page.status().is2xxSuccessful()) {
+            renderedPages.put(renderKey, page, generation);
+        }
+
+        return page;
+    }
+
+    private SalariesResponseWrapper loadPage(SalaryPageRequest pageRequest, String pageKey, Supplier<SalariesResponseWrapper> loader) {
+        long generation = nearCache.generation();
+        String indexKey = SALARY_INDEX_KEY_PREFIX + pageKey;
+
+        SalariesResponseWrapper page = getPageFromRedisCache(indexKey);
+        if (page != null) {
+            nearCache.put(pageKey, page, generation);
+            return page;
+        }
+
+        String leaseKey = SALARY_LEASE_KEY_PREFIX + pageKey;
+        String leaseToken = UUID.randomUUID().toString();
+        boolean leased = acquireLease(leaseKey, leaseToken);
+
+        if (!leased) {
+            SalariesResponseWrapper stalePage = serveStale ? nearCache.getStale(pageKey) : null;
+            if (stalePage != null) {
+                log.info("[SalaryCache.loadPage] Another node is rebuilding page {}, serving the stale copy.", pageKey);
+                return stalePage;
+            }
+
+            page = waitForRebuiltPage(indexKey);
+            if (page != null) {
+                nearCache.put(pageKey, page, generation);
+                return page;
+            }
+
+            log.warn("[SalaryCache.loadPage] Page {} wasn't rebuilt within {}, loading it here.", pageKey, leaseWait);
+        }
+
+        try {
+            Long entriesGeneration = entriesGeneration();
+            page = loader.get();
+            if (page == null) {
+                return null;
+            }
+
+            savePageToRedisCache(pageRequest, indexKey, page, entriesGeneration);
+            nearCache.put(pageKey, page, generation);
+            return page;
+        } finally {
+            if (leased) {
+                releaseLease(leaseKey, leaseToken);
+            }
+        }
+    }
+
+    private SalariesResponseWrapper awaitLoad(CompletableFuture<SalariesResponseWrapper> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private boolean acquireLease(String leaseKey, String leaseToken) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, leaseToken, leaseTtl));
+        } catch (Exception e) {
+            // Without Redis there is nobody to coordinate with
+            log.error("[SalaryCache.acquireLease] Error acquiring rebuild lease: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void releaseLease(String leaseKey, String leaseToken) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), leaseToken);
+        } catch (Exception e) {
+            log.error("[SalaryCache.releaseLease] Error releasing rebuild lease, it expires in {}: {}", leaseTtl, e.getMessage());
+        }
+    }
+
+    private SalariesResponseWrapper waitForRebuiltPage(String indexKey) {
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LEASE_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            SalariesResponseWrapper page = getPageFromRedisCache(indexKey);
+            if (page != null) {
+                return page;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param previousEmployee the employee before an edit, null for a new salary
+     */
+    public void salarySaved(SalaryResponse salary, String previousEmployee, boolean created, boolean salaryDateChanged) {
+        invalidateNearCaches();
+
+        try {
+            redisTemplate.opsForHash().put(SALARY_ENTRIES_KEY, String.valueOf(salary.getSalaryId()), salary);
+            redisTemplate.expire(SALARY_ENTRIES_KEY, CACHE_TTL);
+
+            if (created) {
+                dropIdIndexes();
+            }
+
+            if (created || salaryDateChanged) {
+                dropIndexes(SALARY_DATE_INDEXES_KEY);
+            }
+
+            dropFilteredIndexes(salary.getEmployee(), previousEmployee);
+            bumpEntriesGeneration();
+
+            publishInvalidation();
+            log.info("[SalaryCache.salarySaved] Patched salary {} in redis cache.", salary.getSalaryId());
+        } catch (Exception e) {
+            log.error("[SalaryCache.salarySaved] Error patching salaries cache, clearing it: {}", e.getMessage());
+            writeErrors.increment();
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Drops the pages a bulk insert can change, once for the whole batch. The new rows are cached when a page
+     * that contains them is read.
+     */
+    public void salariesCreated(int count) {
+        invalidateNearCaches();
+
+        try {
+            dropIdIndexes();
+            dropIndexes(SALARY_DATE_INDEXES_KEY);
+            dropIndexes(FILTERED_INDEXES_KEY);
+            bumpEntriesGeneration();
+
+            publishInvalidation();
+            log.info("[SalaryCache.salariesCreated] Dropped cached pages after {} salaries were created.", count);
+        } catch (Exception e) {
+            log.error("[SalaryCache.salariesCreated] Error patching salaries cache, clearing it: {}", e.getMessage());
+            writeErrors.increment();
+            invalidateAll();
+        }
+    }
+
+    public void salaryDeleted(Long id, String employee) {
+        invalidateNearCaches();
+
+        try {
+            redisTemplate.opsForHash().delete(SALARY_ENTRIES_KEY, String.valueOf(id));
+            // Salary date pages may still hold next links with id-only cursors, resolved through the deleted row
+            dropIndexes(SALARY_DATE_INDEXES_KEY);
+            dropFilteredIndexes(employee);
+            bumpEntriesGeneration();
+
+            publishInvalidation();
+            log.info("[SalaryCache.salaryDeleted] Removed salary {} from redis cache.", id);
+        } catch (Exception e) {
+            log.error("[SalaryCache.salaryDeleted] Error patching salaries cache, clearing it: {}", e.getMessage());
+            writeErrors.increment();
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        invalidateNearCaches();
+
+        try {
+            dropIdIndexes();
+            dropIndexes(SALARY_DATE_INDEXES_KEY);
+            dropIndexes(FILTERED_INDEXES_KEY);
+            redisTemplate.delete(SALARY_ENTRIES_KEY);
+            bumpEntriesGeneration();
+
+            publishInvalidation();
+            log.info("[SalaryCache.invalidateAll] Successfully cleared salaries cache");
+        } catch (Exception e) {
+            log.error("[SalaryCache.invalidateAll] Error clearing salaries cache: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateNearCaches();
+        log.info("[SalaryCache.onMessage] Near cache invalidated by another node.");
+    }
+
+    /**
+     * Drops this replica's L1 pages only; Redis and the other replicas are left alone.
+     */
+    public void invalidateNearCaches() {
+        nearCache.invalidateAll();
+        if (renderedPages != null) {
+            renderedPages.invalidateAll();
+        }
+    }
+
+    private void publishInvalidation() {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, SALARY_CACHE_KEY);
+    }
+
+    // Ids come from pooled blocks, so a new id can land before cached cursors that another node handed out
+    private void dropIdIndexes() {
+        dropIndexes(SALARY_INDEXES_KEY_PREFIX + SalaryPageRequest.SORT_BY_ID);
+        dropIndexes(OPEN_ID_INDEXES_KEY);
+    }
+
+    // Filtered pages of other employees can't gain or lose this salary
+    private void dropFilteredIndexes(String... employees) {
+        dropIndexes(ANY_EMPLOYEE_INDEXES_KEY);
+        for (String employee : employees) {
+            if (employee != null) {
+                dropIndexes(employeeIndexesKey(employee));
+            }
+        }
+    }
+
+    private static String employeeIndexesKey(String employee) {
+        return EMPLOYEE_INDEXES_KEY_PREFIX + URLEncoder.encode(employee.trim(), StandardCharsets.UTF_8);
+    }
+
+    private void dropIndexes(String indexesKey) {
+        Set<Object> indexKeys = redisTemplate.opsForSet().members(indexesKey);
+        List<String> keys = new ArrayList<>();
+        keys.add(indexesKey);
+        if (indexKeys != null) {
+            indexKeys.forEach(indexKey -> keys.add(String.valueOf(indexKey)));
+        }
+
+        redisTemplate.delete(keys);
+    }
+
+    // INCRBY 0 reads the counter as a number, without going through the cache value serializer
+    private Long entriesGeneration() {
+        try {
+            return redisTemplate.opsForValue().increment(ENTRIES_GENERATION_KEY, 0);
+        } catch (Exception e) {
+            log.error("[SalaryCache.entriesGeneration] Error reading entries generation, the page won't be cached: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void bumpEntriesGeneration() {
+        redisTemplate.opsForValue().increment(ENTRIES_GENERATION_KEY);
+    }
+
+    /**
+     * Writes the entries and the index in one transaction that only commits if no write has bumped the entries
+     * generation since {@code loadedAtGeneration} was read; a skipped page is simply loaded again next time.
+     */
+    private void savePageToRedisCache(SalaryPageRequest pageRequest, String indexKey, SalariesResponseWrapper page,
+                                      Long loadedAtGeneration) {
+        if (loadedAtGeneration == null) {
+            return;
+        }
+
+        log.info("[SalaryCache.savePageToRedisCache] Saving {} salaries of {} to redis cache.", page.getData().size(), indexKey);
+        log.debug("[SalaryCache.savePageToRedisCache] Cached page: {}", page);
+
+        Map<String, SalaryResponse> entries = new HashMap<>();
+        List<Long> ids = new ArrayList<>(page.getData().size());
+        for (SalaryResponse salary : page.getData()) {
+            entries.put(String.valueOf(salary.getSalaryId()), salary);
+            ids.add(salary.getSalaryId());
+        }
+
+        List<Object> results = redisTemplate.execute(new SessionCallback<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                redis.watch(ENTRIES_GENERATION_KEY);
+                if (!loadedAtGeneration.equals(redis.opsForValue().increment(ENTRIES_GENERATION_KEY, 0))) {
+                    redis.unwatch();
+                    return null;
+                }
+
+                redis.multi();
+                // Entries must outlive every index pointing at them, so their TTL is refreshed before the index is written
+                redis.opsForHash().putAll(SALARY_ENTRIES_KEY, entries);
+                redis.expire(SALARY_ENTRIES_KEY, CACHE_TTL);
+                redis.opsForValue().set(indexKey, new SalaryPageIndex(ids, page.getLinks(), page.getPage()), CACHE_TTL);
+                redis.opsForSet().add(indexesKey(pageRequest, page), indexKey);
+                if (pageRequest.hasFilters()) {
+                    redis.opsForSet().add(FILTERED_INDEXES_KEY, indexKey);
+                }
+                return redis.exec();
+            }
+        });
+
+        if (results == null || results.isEmpty()) {
+            log.info("[SalaryCache.savePageToRedisCache] Salaries changed while {} was loaded, not caching it.", indexKey);
+        }
+    }
+
+    // The set of indexes a write drops when it can change this page
+    private static String indexesKey(SalaryPageRequest pageRequest, SalariesResponseWrapper page) {
+        if (pageRequest.hasFilters()) {
+            return pageRequest.getEmployee() == null
+                    ? ANY_EMPLOYEE_INDEXES_KEY
+                    : employeeIndexesKey(pageRequest.getEmployee());
+        } else if (SalaryPageRequest.SORT_BY_SALARY_DATE.equals(pageRequest.getSort())) {
+            return SALARY_DATE_INDEXES_KEY;
+        } else if (page.getPage() == null || page.getPage().getNextCursor() == null) {
+            return OPEN_ID_INDEXES_KEY;
+        }
+
+        return SALARY_INDEXES_KEY_PREFIX + SalaryPageRequest.SORT_BY_ID;
+    }
+
+    private SalariesResponseWrapper getPageFromRedisCache(String indexKey) {
+        log.info("[SalaryCache.getPageFromRedisCache] Attempting to retrieve data from redis cache.");
+
+        try {
+            Object cachedIndex = redisTemplate.opsForValue().get(indexKey);
+
+            if (cachedIndex == null) {
+                log.info("[SalaryCache.getPageFromRedisCache] No data found in redis cache.");
+                redisMisses.increment();
+                return null;
+            }
+
+            log.info("[SalaryCache.getPageFromRedisCache] Data found in redis cache. Beginning deserialization.");
+            log.debug("[SalaryCache.getPageFromRedisCache] Cached index: {}", cachedIndex);
+            SalaryPageIndex index = fromCachedValue(cachedIndex, SalaryPageIndex.class, indexConvertTimer);
+
+            List<Object> fields = new ArrayList<>(index.getIds().size());
+            index.getIds().forEach(id -> fields.add(String.valueOf(id)));
+            List<Object> cachedEntries = fields.isEmpty() ? List.of() : redisTemplate.opsForHash().multiGet(SALARY_ENTRIES_KEY, fields);
+
+            List<SalaryResponse> data = new ArrayList<>(cachedEntries.size());
+            for (Object cachedEntry : cachedEntries) {
+                // Missing entries were deleted after the index was built
+                if (cachedEntry != null) {
+                    data.add(fromCachedValue(cachedEntry, SalaryResponse.class, entryConvertTimer));
+                }
+            }
+
+            if (data.isEmpty() && !fields.isEmpty()) {
+                log.info("[SalaryCache.getPageFromRedisCache] Every row of the cached page is gone, reloading it.");
+                redisMisses.increment();
+                return null;
+            }
+
+            redisHits.increment();
+            return new SalariesResponseWrapper(data, index.getLinks(), index.getPage());
+        } catch (Exception e) {
+            log.error("[SalaryCache.getPageFromRedisCache] Error deserializing cache data: ", e);
+            redisErrors.increment();
+            return null;
+        }
+    }
+
+    // The binary codec already returns typed values; only the JSON codec hands back maps that need converting
+    private <T> T fromCachedValue(Object cachedValue, Class<T> type, Timer convertTimer) {
+        if (type.isInstance(cachedValue)) {
+            return type.cast(cachedValue);
+        }
+
+        long start = System.nanoTime();
+        T value = objectMapper.convertValue(cachedValue, type);
+        convertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return value;
+    }
+}
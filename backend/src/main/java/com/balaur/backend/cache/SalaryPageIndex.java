@@ -0,0 +1,22 @@
+package com.balaur.backend.cache;
+
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.PageInfo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cached shape of one list page: the ordered salary ids plus page-level links and metadata.
+ * The rows themselves live once per salary in the entries hash, so a write patches one entry instead of every page.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryPageIndex {
+    private List<Long> ids;
+    private List<Link> links;
+    private PageInfo page;
+}
@@ -0,0 +1,229 @@
+package com.balaur.backend.changes;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.kafka.SalaryEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code salary_changes} log and the dataset version derived from it.
+ * <p>
+ * Every salary write appends its changes as the last step of its own transaction, after taking an advisory lock
+ * that is held until commit. Writers only wait for each other around that insert and the commit, and versions
+ * become visible in order, so the highest committed version covers every change below it. That version is the
+ * list ETag on every replica: a writer publishes it once it has applied its write to the caches, and replicas
+ * re-read it from the database every {@code salaries.changes.version-refresh-interval}, in case they missed the
+ * message on {@value #VERSION_CHANNEL}. It lives in memory, so conditional requests are answered without Redis or
+ * the database.
+ */
+@Slf4j
+@Component
+public class SalaryChangeLog implements MessageListener {
+    public static final String VERSION_CHANNEL = "salaries:version";
+    public static final String LOCK_CHANGE_LOG = "SELECT pg_advisory_xact_lock(7301942)";
+    /**
+     * For statements changing many salaries: they write the ids into this table, and
+     * {@link #APPEND_CHANGED_SALARIES} records them under {@link #LOCK_CHANGE_LOG} at the end of the transaction.
+     */
+    public static final String CREATE_CHANGED_SALARIES_TABLE =
+            "CREATE TEMPORARY TABLE changed_salaries (salary_id BIGINT NOT NULL) ON COMMIT DROP";
+    public static final String APPEND_CHANGED_SALARIES = """
+            INSERT INTO salary_changes (salary_id, change_type)
+            SELECT salary_id, ? FROM changed_salaries ORDER BY salary_id""";
+
+    static final long UNKNOWN_VERSION = -1;
+
+    private static final String INSERT_CHANGE = "INSERT INTO salary_changes (salary_id, change_type) VALUES (?, ?)";
+    private static final String LATEST_VERSION = "SELECT coalesce(max(version), 0) FROM salary_changes";
+    private static final String LAST_TAKEN_VERSION =
+            "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM salary_changes_version_seq";
+    private static final String OLDEST_VERSION = "SELECT min(version) FROM salary_changes";
+    // The latest change of every salary changed since the given version, with the salary as it is now
+    private static final String FIND_CHANGES = """
+            SELECT c.version, c.salary_id, c.change_type, s.salary, s.employee, s.salary_date
+            FROM (
+                SELECT DISTINCT ON (salary_id) version, salary_id, change_type
+                FROM salary_changes
+                WHERE version > ?
+                ORDER BY salary_id, version DESC
+            ) c
+            LEFT JOIN salaries s ON s.id = c.salary_id
+            ORDER BY c.version
+            LIMIT ?""";
+    // The latest change is always kept, so the oldest retained version is never unknown once there were writes
+    private static final String PRUNE_CHANGES = """
+            DELETE FROM salary_changes
+            WHERE changed_at < ?
+              AND version < (SELECT max(version) FROM salary_changes)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SalaryCache salaryCache;
+    private final Duration retention;
+    private final AtomicLong version = new AtomicLong(UNKNOWN_VERSION);
+
+    public SalaryChangeLog(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           RedisTemplate<String, Object> redisTemplate,
+                           SalaryCache salaryCache,
+                           @Value("${salaries.changes.retention:P7D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setReadOnly(true);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.redisTemplate = redisTemplate;
+        this.salaryCache = salaryCache;
+        this.retention = retention;
+    }
+
+    /**
+     * Records changes of the given salaries. Must be the last step of the transaction that writes them; other
+     * writers wait for that transaction to end before they can record theirs.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(SalaryEventType changeType, List<Long> salaryIds) {
+        if (salaryIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute(LOCK_CHANGE_LOG);
+        List<Object[]> rows = new ArrayList<>(salaryIds.size());
+        for (Long salaryId : salaryIds) {
+            rows.add(new Object[]{salaryId, changeType.name()});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+    }
+
+    /**
+     * The version served as the list ETag, {@code -1} until it has been read from the database.
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Call after a committed write has been applied to the caches: moves every replica to the latest committed
+     * version, which includes that write.
+     */
+    public void publishChanges() {
+        try {
+            Long latestVersion = jdbcTemplate.queryForObject(LATEST_VERSION, Long.class);
+            advanceTo(latestVersion);
+            redisTemplate.convertAndSend(VERSION_CHANNEL, String.valueOf(latestVersion));
+        } catch (Exception e) {
+            // Other replicas catch up on their next refresh
+            log.error("[SalaryChangeLog.publishChanges] Could not publish the salaries version: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${salaries.changes.version-refresh-interval:PT5S}",
+            fixedDelayString = "${salaries.changes.version-refresh-interval:PT5S}")
+    public void refreshVersion() {
+        try {
+            advanceTo(jdbcTemplate.queryForObject(LATEST_VERSION, Long.class));
+        } catch (Exception e) {
+            log.error("[SalaryChangeLog.refreshVersion] Could not read the salaries version: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            advanceTo(Long.parseLong(String.valueOf(payload)));
+        } catch (Exception e) {
+            log.error("[SalaryChangeLog.onMessage] Could not read the salaries version: {}", e.getMessage());
+        }
+    }
+
+    private void advanceTo(Long newVersion) {
+        if (newVersion == null || newVersion <= version.get()) {
+            return;
+        }
+
+        // Pages cached before this version must not be served under its ETag
+        salaryCache.invalidateNearCaches();
+        version.accumulateAndGet(newVersion, Math::max);
+    }
+
+    /**
+     * The latest change of every salary changed after {@code since}, oldest first, read from one snapshot.
+     * Returns null when changes after {@code since} may have been pruned (or {@code since} was never handed out),
+     * so the caller has to reload the whole list.
+     */
+    public ChangeSet findChanges(long since, int limit) {
+        return snapshotTransactionTemplate.execute(status -> {
+            Long oldest = jdbcTemplate.queryForObject(OLDEST_VERSION, Long.class);
+            Long lastTaken = jdbcTemplate.queryForObject(LAST_TAKEN_VERSION, Long.class);
+            // Versions have gaps, so this may also send back a client whose missing versions were never changes
+            if ((oldest != null && since < oldest - 1) || lastTaken == null || since > lastTaken) {
+                return null;
+            }
+
+            List<Change> changes = jdbcTemplate.query(FIND_CHANGES, (rs, rowNum) -> new Change(
+                    rs.getLong("version"),
+                    rs.getLong("salary_id"),
+                    SalaryEventType.valueOf(rs.getString("change_type")),
+                    rs.getBigDecimal("salary"),
+                    rs.getString("employee"),
+                    rs.getObject("salary_date", LocalDateTime.class)), since, limit + 1);
+
+            boolean hasMore = changes.size() > limit;
+            if (hasMore) {
+                changes = changes.subList(0, limit);
+                return new ChangeSet(changes.getLast().version(), changes, true);
+            }
+
+            return new ChangeSet(Math.max(since, jdbcTemplate.queryForObject(LATEST_VERSION, Long.class)), changes, false);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${salaries.changes.prune-interval:PT1H}")
+    public void prune() {
+        try {
+            int pruned = jdbcTemplate.update(PRUNE_CHANGES, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+            if (pruned > 0) {
+                log.info("[SalaryChangeLog.prune] Pruned {} salary changes older than {}.", pruned, retention);
+            }
+        } catch (Exception e) {
+            log.error("[SalaryChangeLog.prune] Could not prune salary changes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param version the version to ask for the next changes with
+     */
+    public record ChangeSet(long version, List<Change> changes, boolean hasMore) {
+    }
+
+    /**
+     * The latest change of one salary; the salary fields are null when it was deleted.
+     */
+    public record Change(long version, long salaryId, SalaryEventType type,
+                         BigDecimal salary, String employee, LocalDateTime salaryDate) {
+    }
+}
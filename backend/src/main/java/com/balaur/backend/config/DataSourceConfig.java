@@ -0,0 +1,43 @@
+package com.balaur.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class DataSourceConfig {
+
+    /**
+     * Puts a {@link ConcurrencyLimitedDataSource} in front of the connection pool, sized like the pool by default.
+     * Static, so wrapping the data source doesn't need this configuration to be created early.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "salaries.datasource.limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+
+                int maxConcurrency = environment.getProperty("salaries.datasource.limiter.max-concurrency", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                int maxWaiting = environment.getProperty("salaries.datasource.limiter.max-waiting", Integer.class, 1000);
+                Duration acquireTimeout = environment.getProperty("salaries.datasource.limiter.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+
+                log.info("[DataSourceConfig] Limiting data source '{}' to {} concurrent connections and {} waiting callers.",
+                        beanName, maxConcurrency, maxWaiting);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, maxWaiting, acquireTimeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.balaur.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import com.balaur.backend.kafka.SalaryKafkaProducer;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+
+@Configuration
+@Slf4j
+public class KafkaConfig {
+    public static final String SALARY_BATCH_LISTENER_FACTORY = "salaryBatchListenerContainerFactory";
+    public static final String SALARY_ANALYTICS_LISTENER_FACTORY = "salaryAnalyticsListenerContainerFactory";
+    public static final String DEAD_LETTER_SUFFIX = ".DLT";
+
+    @Bean
+    public NewTopic salaryTopic(@Value("${salaries.kafka.topic.partitions:3}") int partitions) {
+        return TopicBuilder.name(SalaryKafkaProducer.TOPIC).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic salaryDeadLetterTopic() {
+        return TopicBuilder.name(SalaryKafkaProducer.TOPIC + DEAD_LETTER_SUFFIX).partitions(1).build();
+    }
+
+    @Bean
+    public DefaultErrorHandler salaryErrorHandler(KafkaTemplate<String, String> kafkaTemplate,
+                                                  @Value("${salaries.kafka.consumer.retry-interval:PT1S}") Duration retryInterval,
+                                                  @Value("${salaries.kafka.consumer.retry-attempts:2}") long retryAttempts) {
+        // A negative partition lets the producer pick one, so the DLT doesn't need as many partitions as the topic
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+
+        log.info("[KafkaConfig] Failed salary events are retried {} times, then published to the dead-letter topic.", retryAttempts);
+        return new DefaultErrorHandler(recoverer, new FixedBackOff(retryInterval.toMillis(), retryAttempts));
+    }
+
+    @Bean(SALARY_BATCH_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> salaryBatchListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            DefaultErrorHandler salaryErrorHandler,
+            @Value("${salaries.kafka.consumer.concurrency:${salaries.kafka.topic.partitions:3}}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(salaryErrorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        log.info("[KafkaConfig] Configured batch salary listener with concurrency {}.", concurrency);
+        return factory;
+    }
+
+    /**
+     * For listeners that only read the salary events for themselves: failed records are retried and logged, and
+     * never published to the dead-letter topic, which belongs to the main consumer.
+     */
+    @Bean(SALARY_ANALYTICS_LISTENER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> salaryAnalyticsListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${salaries.kafka.consumer.retry-interval:PT1S}") Duration retryInterval,
+            @Value("${salaries.kafka.consumer.retry-attempts:2}") long retryAttempts) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(retryInterval.toMillis(), retryAttempts)));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+}
@@ -1,20 +1,29 @@
 package com.balaur.backend.config;
 
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.search.EmployeeSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -25,6 +34,7 @@ import java.time.format.DateTimeFormatter;
 @EnableCaching
 @Slf4j
 public class RedisConfig {
+    public static final String CACHE_CODEC_BINARY = "binary";
 
     @Bean
     @Primary
@@ -44,36 +54,63 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
-        template.setConnectionFactory(factory);
-
+    public RedisSerializer<Object> cacheValueSerializer(@Value("${salaries.cache.codec:json}") String codec) {
         GenericJackson2JsonRedisSerializer jsonSerializer =
                 new GenericJackson2JsonRedisSerializer(objectMapper());
 
+        if (CACHE_CODEC_BINARY.equals(codec)) {
+            log.info("[RedisConfig] Using the binary codec for salary cache values.");
+            return new SalaryBinaryRedisSerializer(jsonSerializer);
+        }
+
+        log.info("[RedisConfig] Using the JSON codec for cache values.");
+        return jsonSerializer;
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory,
+                                                       RedisSerializer<Object> cacheValueSerializer) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        template.setValueSerializer(cacheValueSerializer);
+        template.setHashValueSerializer(cacheValueSerializer);
 
         template.afterPropertiesSet();
         log.info("[RedisConfig] Configured RedisTemplate with custom serializers.");
         return template;
     }
 
-
+    /**
+     * Non-blocking twin of {@link #redisTemplate}, same serializers, for the /api/v2 endpoints.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        GenericJackson2JsonRedisSerializer jsonSerializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper());
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory,
+                                                                       RedisSerializer<Object> cacheValueSerializer) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(cacheValueSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(cacheValueSerializer)
+                .build();
+
+        log.info("[RedisConfig] Configured ReactiveRedisTemplate with custom serializers.");
+        return new ReactiveRedisTemplate<>(factory, serializationContext);
+    }
+
 
+    @Bean
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          RedisSerializer<Object> cacheValueSerializer) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer)
+                        RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer)
                 )
                 .disableCachingNullValues();
 
@@ -81,4 +118,21 @@ public class RedisConfig {
                 .cacheDefaults(config)
                 .build();
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       SalaryCache salaryCache,
+                                                                       EmployeeSearchIndex employeeSearchIndex,
+                                                                       SalaryChangeLog salaryChangeLog) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(salaryCache, new ChannelTopic(SalaryCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(employeeSearchIndex, new ChannelTopic(EmployeeSearchIndex.CHANGES_CHANNEL));
+        container.addMessageListener(salaryChangeLog, new ChannelTopic(SalaryChangeLog.VERSION_CHANNEL));
+
+        log.info("[RedisConfig] Subscribed near cache to channel {}.", SalaryCache.INVALIDATION_CHANNEL);
+        log.info("[RedisConfig] Subscribed employee search index to channel {}.", EmployeeSearchIndex.CHANGES_CHANNEL);
+        log.info("[RedisConfig] Subscribed salary change log to channel {}.", SalaryChangeLog.VERSION_CHANNEL);
+        return container;
+    }
 }
@@ -0,0 +1,353 @@
+package com.balaur.backend.config;
+
+import com.balaur.backend.cache.SalaryPageIndex;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.PageInfo;
+import com.balaur.backend.responses.SalaryResponse;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary codec for the salary cache values ({@link SalaryResponse} entries and {@link SalaryPageIndex}
+ * pages). Everything else, and every value written by the JSON codec, goes through {@code fallback}.
+ * <p>
+ * Values start with a magic byte that can't start a JSON document, so both codecs can read each other's keys
+ * while {@code salaries.cache.codec} is being switched. Per-row HATEOAS links that match
+ * {@link LinkUtils#generateLinks(String, String, String)} are stored as their method and version only and are
+ * regenerated on read; any other links are stored in full.
+ */
+public class SalaryBinaryRedisSerializer implements RedisSerializer<Object> {
+    static final byte MAGIC = (byte) 0xB5;
+
+    // Rows written before salaries had a version; still read, never written
+    private static final byte TYPE_SALARY_RESPONSE = 1;
+    // Pages written before cursors carried their salary date; still read, never written
+    private static final byte TYPE_SALARY_PAGE_INDEX = 2;
+    private static final byte TYPE_VERSIONED_SALARY_RESPONSE = 3;
+    private static final byte TYPE_DATED_SALARY_PAGE_INDEX = 4;
+
+    private static final byte LINKS_NONE = 0;
+    private static final byte LINKS_CANONICAL = 1;
+    private static final byte LINKS_LIST = 2;
+
+    private static final String[] CANONICAL_LINK_METHODS = {"get", "add", "edit", "delete"};
+
+    private final RedisSerializer<Object> fallback;
+
+    public SalaryBinaryRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof SalaryResponse) && !(value instanceof SalaryPageIndex)) {
+            return fallback.serialize(value);
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+
+            if (value instanceof SalaryResponse salaryResponse) {
+                out.writeByte(TYPE_VERSIONED_SALARY_RESPONSE);
+                writeSalaryResponse(out, salaryResponse);
+            } else {
+                out.writeByte(TYPE_DATED_SALARY_PAGE_INDEX);
+                writeSalaryPageIndex(out, (SalaryPageIndex) value);
+            }
+
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write binary salary cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            byte type = in.readByte();
+
+            return switch (type) {
+                case TYPE_SALARY_RESPONSE -> readSalaryResponse(in, false);
+                case TYPE_VERSIONED_SALARY_RESPONSE -> readSalaryResponse(in, true);
+                case TYPE_SALARY_PAGE_INDEX -> readSalaryPageIndex(in, false);
+                case TYPE_DATED_SALARY_PAGE_INDEX -> readSalaryPageIndex(in, true);
+                default -> throw new SerializationException("Unknown binary salary cache value type: " + type);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not read binary salary cache value", e);
+        }
+    }
+
+    private void writeSalaryResponse(DataOutputStream out, SalaryResponse salary) throws IOException {
+        writeNullableLong(out, salary.getSalaryId());
+        writeDecimal(out, salary.getSalary());
+        writeString(out, salary.getEmployee());
+        writeDateTime(out, salary.getSalaryDate());
+        writeString(out, salary.getMessage());
+        writeRowLinks(out, salary.getSalaryId(), salary.getLinks());
+        writeNullableLong(out, salary.getVersion());
+    }
+
+    private SalaryResponse readSalaryResponse(DataInputStream in, boolean versioned) throws IOException {
+        Long salaryId = readNullableLong(in);
+        return SalaryResponse.builder()
+                .salaryId(salaryId)
+                .salary(readDecimal(in))
+                .employee(readString(in))
+                .salaryDate(readDateTime(in))
+                .message(readString(in))
+                .links(readRowLinks(in, salaryId))
+                .version(versioned ? readNullableLong(in) : null)
+                .build();
+    }
+
+    private void writeSalaryPageIndex(DataOutputStream out, SalaryPageIndex index) throws IOException {
+        // Ids are mostly ascending, so deltas stay one or two bytes long
+        writeVarLong(out, index.getIds().size());
+        long previousId = 0;
+        for (Long id : index.getIds()) {
+            writeVarLong(out, zigZag(id - previousId));
+            previousId = id;
+        }
+
+        writeLinks(out, index.getLinks());
+
+        PageInfo page = index.getPage();
+        out.writeBoolean(page != null);
+        if (page != null) {
+            writeVarLong(out, page.getSize());
+            writeString(out, page.getSort());
+            writeNullableLong(out, page.getAfter());
+            writeNullableLong(out, page.getNextCursor());
+            writeVarLong(out, page.getTotalElements());
+            writeDateTime(out, page.getAfterDate());
+            writeDateTime(out, page.getNextCursorDate());
+        }
+    }
+
+    private SalaryPageIndex readSalaryPageIndex(DataInputStream in, boolean dated) throws IOException {
+        int count = (int) readVarLong(in);
+        List<Long> ids = new ArrayList<>(count);
+        long previousId = 0;
+        for (int i = 0; i < count; i++) {
+            previousId += unZigZag(readVarLong(in));
+            ids.add(previousId);
+        }
+
+        List<Link> links = readLinks(in);
+
+        PageInfo page = null;
+        if (in.readBoolean()) {
+            PageInfo.PageInfoBuilder builder = PageInfo.builder()
+                    .size((int) readVarLong(in))
+                    .sort(readString(in))
+                    .after(readNullableLong(in))
+                    .nextCursor(readNullableLong(in))
+                    .totalElements(readVarLong(in));
+            if (dated) {
+                builder.afterDate(readDateTime(in)).nextCursorDate(readDateTime(in));
+            }
+            page = builder.build();
+        }
+
+        return new SalaryPageIndex(ids, links, page);
+    }
+
+    private void writeRowLinks(DataOutputStream out, Long salaryId, List<Link> links) throws IOException {
+        if (links == null) {
+            out.writeByte(LINKS_NONE);
+            return;
+        }
+
+        if (salaryId != null && links.size() == CANONICAL_LINK_METHODS.length && links.getFirst().getVersion() != null) {
+            String version = links.getFirst().getVersion();
+            for (String method : CANONICAL_LINK_METHODS) {
+                if (sameLinks(links, LinkUtils.generateLinks(method, version, String.valueOf(salaryId)))) {
+                    out.writeByte(LINKS_CANONICAL);
+                    writeString(out, method);
+                    writeString(out, version);
+                    return;
+                }
+            }
+        }
+
+        out.writeByte(LINKS_LIST);
+        writeLinks(out, links);
+    }
+
+    private List<Link> readRowLinks(DataInputStream in, Long salaryId) throws IOException {
+        byte kind = in.readByte();
+        return switch (kind) {
+            case LINKS_NONE -> null;
+            case LINKS_CANONICAL -> LinkUtils.generateLinks(readString(in), readString(in), String.valueOf(salaryId));
+            case LINKS_LIST -> readLinks(in);
+            default -> throw new SerializationException("Unknown binary salary links encoding: " + kind);
+        };
+    }
+
+    private boolean sameLinks(List<Link> actual, List<Link> expected) {
+        for (int i = 0; i < expected.size(); i++) {
+            Link a = actual.get(i);
+            Link e = expected.get(i);
+            if (!e.getRel().equals(a.getRel()) || !e.getHref().equals(a.getHref())
+                    || !e.getMethod().equals(a.getMethod()) || !e.getVersion().equals(a.getVersion())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void writeLinks(DataOutputStream out, List<Link> links) throws IOException {
+        out.writeBoolean(links != null);
+        if (links == null) {
+            return;
+        }
+
+        writeVarLong(out, links.size());
+        for (Link link : links) {
+            writeString(out, link.getRel());
+            writeString(out, link.getHref());
+            writeString(out, link.getMethod());
+            writeString(out, link.getVersion());
+        }
+    }
+
+    private List<Link> readLinks(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        int count = (int) readVarLong(in);
+        List<Link> links = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            links.add(new Link(readString(in), readString(in), readString(in), readString(in)));
+        }
+
+        return links;
+    }
+
+    private void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+
+        writeVarLong(out, zigZag(value.scale()));
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            out.writeBoolean(true);
+            writeVarLong(out, zigZag(unscaled.longValue()));
+        } else {
+            out.writeBoolean(false);
+            byte[] magnitude = unscaled.toByteArray();
+            writeVarLong(out, magnitude.length);
+            out.write(magnitude);
+        }
+    }
+
+    private BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        int scale = (int) unZigZag(readVarLong(in));
+        if (in.readBoolean()) {
+            return BigDecimal.valueOf(unZigZag(readVarLong(in)), scale);
+        }
+
+        byte[] magnitude = new byte[(int) readVarLong(in)];
+        in.readFully(magnitude);
+        return new BigDecimal(new BigInteger(magnitude), scale);
+    }
+
+    // LocalDateTime has no zone; UTC is only used as a fixed reference so the value round-trips unchanged
+    private void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, zigZag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(out, value.getNano());
+        }
+    }
+
+    private LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        long epochSecond = unZigZag(readVarLong(in));
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(in), ZoneOffset.UTC);
+    }
+
+    private void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(out, zigZag(value));
+        }
+    }
+
+    private Long readNullableLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? unZigZag(readVarLong(in)) : null;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new SerializationException("Malformed variable-length number in binary salary cache value");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.balaur.backend.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code maxPerInterval} events of each call site through per {@code intervalMillis}, for loggers
+ * under {@code loggerPrefix} and levels below {@code WARN}; warnings and errors always pass. A call site is
+ * identified by its message template, which every {@code [Class.method]} line already has to itself.
+ * <p>
+ * Runs before the event is created, so a dropped line costs neither formatting nor a queue slot.
+ * Configured in {@code logback-spring.xml}.
+ */
+public class SampledLogTurboFilter extends TurboFilter {
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+    private String loggerPrefix = "com.balaur.backend.services.SalaryService";
+    private int maxPerInterval = 10;
+    private long intervalMillis = 1000;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !logger.getName().startsWith(loggerPrefix)
+                // Not isEnabledFor: it runs the turbo filters again
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.computeIfAbsent(format, key -> new Window());
+        return window.tryAcquire(System.currentTimeMillis(), maxPerInterval, intervalMillis)
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerInterval(int maxPerInterval) {
+        this.maxPerInterval = maxPerInterval;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    private static final class Window {
+        private final AtomicLong start = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now, int max, long intervalMillis) {
+            long windowStart = start.get();
+            // One caller opens the next window; a few events can land in either window while it does
+            if (now - windowStart >= intervalMillis && start.compareAndSet(windowStart, now)) {
+                count.set(0);
+            }
+
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
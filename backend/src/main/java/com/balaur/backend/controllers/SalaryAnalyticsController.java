@@ -0,0 +1,35 @@
+package com.balaur.backend.controllers;
+
+import com.balaur.backend.analytics.SalaryColumnStore;
+import com.balaur.backend.requests.SalaryAnalyticsRequest;
+import com.balaur.backend.responses.SalaryAggregatesResponse;
+import com.balaur.backend.responses.SalaryAnalyticsResponse;
+import com.balaur.backend.services.SalaryAnalyticsService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/salaries/analytics")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "salaries.analytics.enabled", havingValue = "true")
+public class SalaryAnalyticsController {
+    private final SalaryAnalyticsService salaryAnalyticsService;
+
+    @GetMapping
+    public ResponseEntity<SalaryAnalyticsResponse> getSummary(@Valid SalaryAnalyticsRequest request) {
+        return salaryAnalyticsService.getSummary(request);
+    }
+
+    @GetMapping("/groups")
+    public ResponseEntity<SalaryAggregatesResponse> getGroups(@RequestParam(defaultValue = SalaryColumnStore.GROUP_BY_EMPLOYEE)
+                                                              @Pattern(regexp = SalaryColumnStore.GROUP_BY_EMPLOYEE + "|"
+                                                                      + SalaryColumnStore.GROUP_BY_MONTH)
+                                                              String groupBy,
+                                                              @Valid SalaryAnalyticsRequest request) {
+        return salaryAnalyticsService.getGroups(groupBy, request);
+    }
+}
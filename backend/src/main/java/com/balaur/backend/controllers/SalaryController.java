@@ -1,23 +1,125 @@
 package com.balaur.backend.controllers;
 
+import com.balaur.backend.requests.SalaryBulkEditRequest;
+import com.balaur.backend.requests.SalaryPageRequest;
 import com.balaur.backend.requests.SalaryRequest;
+import com.balaur.backend.requests.SalarySelectionRequest;
+import com.balaur.backend.responses.EmployeeSearchResponse;
 import com.balaur.backend.responses.SalariesResponseWrapper;
+import com.balaur.backend.responses.SalaryBulkResponse;
+import com.balaur.backend.responses.SalaryAggregatesResponse;
+import com.balaur.backend.responses.SalaryChangesResponse;
+import com.balaur.backend.responses.SalaryImportResponse;
 import com.balaur.backend.responses.SalaryResponse;
+import com.balaur.backend.services.SalaryAggregateService;
+import com.balaur.backend.services.SalaryBulkService;
+import com.balaur.backend.services.SalaryChangeService;
+import com.balaur.backend.services.SalaryExportService;
+import com.balaur.backend.services.SalaryImportService;
+import com.balaur.backend.services.SalarySearchService;
 import com.balaur.backend.services.SalaryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/salaries")
 @RequiredArgsConstructor
 public class SalaryController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int MAX_CHANGES_PAGE_SIZE = 5000;
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final java.util.regex.Pattern ZERO_QUALITY = java.util.regex.Pattern.compile("q=0(\\.0*)?");
+
     private final SalaryService mainService;
+    private final SalaryExportService salaryExportService;
+    private final SalaryImportService salaryImportService;
+    private final SalaryAggregateService salaryAggregateService;
+    private final SalarySearchService salarySearchService;
+    private final SalaryChangeService salaryChangeService;
+    private final SalaryBulkService salaryBulkService;
 
     @GetMapping("/")
-    public ResponseEntity<SalariesResponseWrapper> getSalaries() {
-        return mainService.getSalaries();
+    public ResponseEntity<?> getSalaries(@Valid SalaryPageRequest pageRequest,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read before the page, so a page never carries a version newer than its data
+        String eTag = salaryChangeService.currentETag();
+        if (eTag != null) {
+            for (String representationETag : List.of(eTag, gzipETag(eTag))) {
+                if (matchesETag(ifNoneMatch, representationETag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(representationETag).build();
+                }
+            }
+        }
+
+        ResponseEntity<?> response = mainService.isRenderedPageCacheEnabled()
+                ? mainService.getRenderedSalaries(pageRequest, acceptsGzip(acceptEncoding))
+                : mainService.getSalaries(pageRequest);
+        if (eTag == null || !response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        // Strong tags differ between content codings
+        if ("gzip".equals(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            eTag = gzipETag(eTag);
+        }
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).eTag(eTag).body(response.getBody());
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<SalaryChangesResponse> getChanges(@RequestParam @Min(0) long since,
+                                                            @RequestParam(defaultValue = "1000") @Min(1) @Max(MAX_CHANGES_PAGE_SIZE) int limit) {
+        return salaryChangeService.getChanges(since, limit);
+    }
+
+    @GetMapping("/export")
+    public void exportSalaries(@RequestParam(defaultValue = SalaryExportService.FORMAT_NDJSON)
+                               @Pattern(regexp = SalaryExportService.FORMAT_NDJSON + "|" + SalaryExportService.FORMAT_JSON
+                                       + "|" + SalaryExportService.FORMAT_CSV)
+                               String format,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(switch (format) {
+            case SalaryExportService.FORMAT_JSON -> MediaType.APPLICATION_JSON_VALUE;
+            case SalaryExportService.FORMAT_CSV -> TEXT_CSV_VALUE;
+            default -> MediaType.APPLICATION_NDJSON_VALUE;
+        });
+        response.setCharacterEncoding("UTF-8");
+        salaryExportService.exportSalaries(format, response.getOutputStream());
+    }
+
+    @GetMapping("/aggregates")
+    public ResponseEntity<SalaryAggregatesResponse> getAggregates(@RequestParam(defaultValue = SalaryAggregateService.GROUP_BY_EMPLOYEE)
+                                                                  @Pattern(regexp = SalaryAggregateService.GROUP_BY_EMPLOYEE + "|"
+                                                                          + SalaryAggregateService.GROUP_BY_MONTH)
+                                                                  String groupBy) {
+        return salaryAggregateService.getAggregates(groupBy);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<EmployeeSearchResponse> searchEmployees(@RequestParam @NotBlank @Size(max = 255) String q,
+                                                                  @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return salarySearchService.searchEmployees(q, limit);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<SalaryImportResponse> importSalaries(HttpServletRequest request) throws IOException {
+        return salaryImportService.importSalaries(request.getInputStream());
     }
 
     @PostMapping("/add")
@@ -25,13 +127,122 @@ public class SalaryController {
         return mainService.addSalary(salaryRequest);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<SalariesResponseWrapper> addSalaries(@RequestBody
+                                                               @NotEmpty @Size(max = SalaryService.MAX_BATCH_SIZE)
+                                                               List<@Valid SalaryRequest> salaryRequests) {
+        return mainService.addSalaries(salaryRequests);
+    }
+
     @PatchMapping("/edit/{id}")
-    public ResponseEntity<SalaryResponse> editSalary(@PathVariable Long id, @Valid @RequestBody SalaryRequest salaryRequest) {
-        return mainService.editSalary(id, salaryRequest);
+    public ResponseEntity<SalaryResponse> editSalary(@PathVariable Long id, @Valid @RequestBody SalaryRequest salaryRequest,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+        if (expectedVersion != null && expectedVersion < 0) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        return mainService.editSalary(id, salaryRequest, expectedVersion);
     }
 
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<SalariesResponseWrapper> deleteSalary(@PathVariable Long id) {
-        return mainService.deleteSalary(id);
+    public ResponseEntity<SalariesResponseWrapper> deleteSalary(@PathVariable Long id,
+                                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+        if (expectedVersion != null && expectedVersion < 0) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        return mainService.deleteSalary(id, expectedVersion);
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<SalaryBulkResponse> deleteSalaries(@Valid @RequestBody SalarySelectionRequest selectionRequest) {
+        return salaryBulkService.deleteSalaries(selectionRequest);
+    }
+
+    @PatchMapping("/bulk-edit")
+    public ResponseEntity<SalaryBulkResponse> editSalaries(@Valid @RequestBody SalaryBulkEditRequest editRequest) {
+        return salaryBulkService.editSalaries(editRequest);
+    }
+
+    // A salary version from If-Match ("3"), null without a header or for "*", -1 if no tag in it can match: If-Match
+    // uses the strong comparison, so weak and unparseable tags never match, and only one version is checked per write
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Long expectedVersion = null;
+        for (String candidate : ifMatch.split(",")) {
+            Long tagVersion = strongVersionTag(candidate.trim());
+            if (tagVersion == null) {
+                continue;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(tagVersion)) {
+                return -1L;
+            }
+            expectedVersion = tagVersion;
+        }
+
+        return expectedVersion == null ? -1L : expectedVersion;
+    }
+
+    // "3" -> 3, null for weak or non-numeric tags
+    private static Long strongVersionTag(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+
+        try {
+            long tagVersion = Long.parseLong(tag.substring(1, tag.length() - 1));
+            return tagVersion < 0 ? null : tagVersion;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "42" -> "42-gzip"
+    private static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so W/ tags match too
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(eTag) || candidate.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // "gzip" or "*" without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                refused |= ZERO_QUALITY.matcher(parts[i].replace(" ", "")).matches();
+            }
+            return !refused;
+        }
+
+        return false;
     }
 }
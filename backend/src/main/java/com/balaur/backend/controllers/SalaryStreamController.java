@@ -0,0 +1,34 @@
+package com.balaur.backend.controllers;
+
+import com.balaur.backend.requests.SalaryPageRequest;
+import com.balaur.backend.responses.SalaryResponse;
+import com.balaur.backend.services.SalaryStreamService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only v2 of the salaries API: the list is streamed row by row (NDJSON or server-sent events) instead of
+ * being paged, and single salaries are served from Redis without blocking. Writes stay on v1.
+ */
+@RestController
+@RequestMapping("/api/v2/salaries")
+@RequiredArgsConstructor
+public class SalaryStreamController {
+    private final SalaryStreamService salaryStreamService;
+
+    // size is the number of rows loaded at a time, after/sort/filters work like on v1
+    @GetMapping(value = "/", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SalaryResponse> streamSalaries(@Valid SalaryPageRequest pageRequest) {
+        return salaryStreamService.streamSalaries(pageRequest);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<SalaryResponse>> getSalary(@PathVariable Long id) {
+        return salaryStreamService.getSalary(id);
+    }
+}
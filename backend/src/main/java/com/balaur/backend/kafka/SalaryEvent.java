@@ -0,0 +1,21 @@
+package com.balaur.backend.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryEvent {
+    private SalaryEventType eventType;
+    private Long salaryId;
+    private BigDecimal salary;
+    private String employee;
+    private LocalDateTime salaryDate;
+}
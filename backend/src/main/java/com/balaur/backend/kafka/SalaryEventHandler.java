@@ -0,0 +1,9 @@
+package com.balaur.backend.kafka;
+
+/**
+ * Processes salary events consumed from {@code salary-topic}. Handlers are called by {@link SalaryKafkaConsumer}
+ * in partition order, so events of one salary arrive in the order they were written; delivery is at-least-once.
+ */
+public interface SalaryEventHandler {
+    void handle(SalaryEvent event);
+}
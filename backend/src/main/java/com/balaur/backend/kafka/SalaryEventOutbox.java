@@ -0,0 +1,79 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.models.SalaryOutboxEvent;
+import com.balaur.backend.repositories.SalaryOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Records salary events in the {@code salary_outbox} table. Must run inside the transaction that writes the
+ * salary row, so an event exists if and only if that write commits; {@link SalaryOutboxRelay} publishes it later.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalaryEventOutbox {
+    private static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO salary_outbox (salary_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final SalaryOutboxRepository salaryOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(SalaryEventType eventType, Salary salary) {
+        salaryOutboxRepository.save(toOutboxEvent(eventType, salary));
+    }
+
+    /**
+     * Same as {@link #append(SalaryEventType, Salary)} for many salaries, written with one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(SalaryEventType eventType, List<Salary> salaries) {
+        List<Object[]> rows = salaries.stream()
+                .map(salary -> toOutboxEvent(eventType, salary))
+                .map(event -> new Object[]{event.getSalaryId(), event.getEventType(), event.getPayload(),
+                        Timestamp.valueOf(event.getCreatedAt())})
+                .toList();
+
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, rows);
+    }
+
+    private SalaryOutboxEvent toOutboxEvent(SalaryEventType eventType, Salary salary) {
+        SalaryEvent event = SalaryEvent.builder()
+                .eventType(eventType)
+                .salaryId(salary.getId())
+                .salary(salary.getSalary())
+                .employee(salary.getEmployee())
+                .salaryDate(salary.getSalaryDate())
+                .build();
+
+        SalaryOutboxEvent outboxEvent = new SalaryOutboxEvent();
+        outboxEvent.setSalaryId(salary.getId());
+        outboxEvent.setEventType(eventType.name());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        return outboxEvent;
+    }
+
+    private String toJson(SalaryEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("[SalaryEventOutbox.toJson] Could not serialize {} event for salary id: {}",
+                    event.getEventType(), event.getSalaryId());
+            throw new IllegalStateException("Could not serialize salary event", e);
+        }
+    }
+}
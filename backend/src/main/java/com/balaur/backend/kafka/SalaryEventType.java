@@ -0,0 +1,7 @@
+package com.balaur.backend.kafka;
+
+public enum SalaryEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
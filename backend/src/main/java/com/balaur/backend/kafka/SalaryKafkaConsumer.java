@@ -1,28 +1,150 @@
 package com.balaur.backend.kafka;
 
-import com.balaur.backend.models.Salary;
+import com.balaur.backend.config.KafkaConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch listener for {@code salary-topic}. Each poll is split by partition; partitions are processed in parallel,
+ * records of one partition in order. Offsets are committed once per batch. A record that can't be read or
+ * handled is reported with {@link BatchListenerFailedException}, so the records before it are committed and it
+ * ends up on the dead-letter topic after the retries configured in {@link KafkaConfig}.
+ * <p>
+ * How long records waited since they were produced is recorded under {@value #LAG_METRIC}; the lag in records
+ * comes from the Kafka client metrics ({@code kafka.consumer.fetch.manager.records.lag.max}).
+ */
+@Slf4j
 @Service
 public class SalaryKafkaConsumer {
-    private final ObjectMapper mapper = new ObjectMapper();
-
-
-    @KafkaListener(topics = "salary-topic", groupId = "mygroup_dev")
-    public void consumeSalaryMessage(String message) {
-        try {
-            Salary salary = mapper.readValue(message, Salary.class);
-            System.out.println("Received salary message: " + salary);
-            // Process salary message here, for example:
-            // - send a notification
-            // - trigger an event
-            // - log the salary processing or error handling
-            // - etc..
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            System.err.println("Error deserializing salary object.");
+    public static final String LAG_METRIC = "salaries.kafka.consumer.lag";
+
+    private final ObjectMapper mapper;
+    private final List<SalaryEventHandler> handlers;
+    private final ExecutorService partitionExecutor;
+    private final Timer lagTimer;
+
+    public SalaryKafkaConsumer(ObjectMapper mapper,
+                               List<SalaryEventHandler> handlers,
+                               MeterRegistry meterRegistry,
+                               @Value("${salaries.kafka.consumer.partition-threads:4}") int partitionThreads,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mapper = mapper;
+        this.handlers = handlers;
+        // A poll never holds more partitions than the container was assigned, and the handlers' database work is
+        // bounded by the data source limiter, so virtual threads need no pool of their own
+        this.partitionExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("salary-partition-", 0).factory())
+                : Executors.newFixedThreadPool(partitionThreads);
+        this.lagTimer = Timer.builder(LAG_METRIC)
+                .description("Time between producing a salary event and consuming it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(topics = SalaryKafkaProducer.TOPIC, groupId = "mygroup_dev",
+            containerFactory = KafkaConfig.SALARY_BATCH_LISTENER_FACTORY)
+    public void consumeSalaryMessages(List<ConsumerRecord<String, String>> records) {
+        Map<Integer, List<IndexedEvent>> eventsByPartition = new LinkedHashMap<>();
+        BatchListenerFailedException poison = null;
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < records.size() && poison == null; i++) {
+            ConsumerRecord<String, String> record = records.get(i);
+            lagTimer.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+            try {
+                SalaryEvent event = mapper.readValue(record.value(), SalaryEvent.class);
+                eventsByPartition.computeIfAbsent(record.partition(), partition -> new ArrayList<>())
+                        .add(new IndexedEvent(i, event));
+            } catch (Exception e) {
+                log.error("[SalaryKafkaConsumer.consumeSalaryMessages] Could not deserialize salary event at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+                poison = new BatchListenerFailedException("Could not deserialize salary event", e, i);
+            }
+        }
+
+        // Records before a poison one are committed with it, so they must be handled first
+        handlePartitions(eventsByPartition);
+        if (poison != null) {
+            throw poison;
+        }
+
+        log.debug("[SalaryKafkaConsumer.consumeSalaryMessages] Processed {} salary events from {} partitions.",
+                records.size(), eventsByPartition.size());
+    }
+
+    private void handlePartitions(Map<Integer, List<IndexedEvent>> eventsByPartition) {
+        if (eventsByPartition.size() <= 1) {
+            eventsByPartition.values().forEach(this::handlePartition);
+            return;
+        }
+
+        List<CompletableFuture<Void>> partitions = new ArrayList<>(eventsByPartition.size());
+        for (List<IndexedEvent> events : eventsByPartition.values()) {
+            partitions.add(CompletableFuture.runAsync(() -> handlePartition(events), partitionExecutor));
         }
+
+        rethrowFirstFailure(partitions);
+    }
+
+    private void handlePartition(List<IndexedEvent> events) {
+        for (IndexedEvent indexedEvent : events) {
+            try {
+                for (SalaryEventHandler handler : handlers) {
+                    handler.handle(indexedEvent.event());
+                }
+            } catch (Exception e) {
+                log.error("[SalaryKafkaConsumer.handlePartition] Could not handle {} event for salary id: {}: {}",
+                        indexedEvent.event().getEventType(), indexedEvent.event().getSalaryId(), e.getMessage());
+                throw new BatchListenerFailedException("Could not handle salary event", e, indexedEvent.index());
+            }
+        }
+    }
+
+    // Reports the earliest failed record, so everything before it in the batch can be committed
+    private void rethrowFirstFailure(List<CompletableFuture<Void>> partitions) {
+        BatchListenerFailedException firstFailure = null;
+
+        for (CompletableFuture<Void> partition : partitions) {
+            try {
+                partition.join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof BatchListenerFailedException failure)) {
+                    throw e;
+                }
+                if (firstFailure == null || failure.getIndex() < firstFailure.getIndex()) {
+                    firstFailure = failure;
+                }
+            }
+        }
+
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionExecutor.shutdown();
+    }
+
+    private record IndexedEvent(int index, SalaryEvent event) {
     }
 }
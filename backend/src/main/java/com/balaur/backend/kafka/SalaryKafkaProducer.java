@@ -1,29 +1,83 @@
 package com.balaur.backend.kafka;
 
-import com.balaur.backend.models.Salary;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.models.SalaryOutboxEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class SalaryKafkaProducer {
-    @Autowired
-    private KafkaTemplate<String, String> kafkaTemplate;
+    public static final String TOPIC = "salary-topic";
+    public static final String ACK_METRIC = "salaries.kafka.producer.ack";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> ackTimers = new ConcurrentHashMap<>();
 
-    private final String topic = "salary-topic";
-    private final ObjectMapper mapper = new ObjectMapper();
+    @Value("${salaries.outbox.send-timeout:PT30S}")
+    private Duration sendTimeout;
+
+    /**
+     * Sends the outbox events keyed by salary id, so every event of one salary lands on the same partition in
+     * order, and blocks until the broker has acknowledged all of them. The records are handed to the producer
+     * all at once so it can batch and compress them. The time from handing a record over to its acknowledgement
+     * is recorded under {@value #ACK_METRIC}.
+     */
+    public void sendSalaryEvents(List<SalaryOutboxEvent> events) {
+        List<CompletableFuture<SendResult<String, String>>> acks = new ArrayList<>(events.size());
+        DistributionSummary payloadSize = DistributionSummary.builder(SalaryCache.PAYLOAD_SIZE_METRIC)
+                .description("Size of the payloads the backend caches or sends")
+                .baseUnit("bytes")
+                .tag("payload", "kafka-event")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (SalaryOutboxEvent event : events) {
+            payloadSize.record(event.getPayload().getBytes(StandardCharsets.UTF_8).length);
+            long sentAt = System.nanoTime();
+            acks.add(kafkaTemplate.send(TOPIC, String.valueOf(event.getSalaryId()), event.getPayload())
+                    .whenComplete((result, e) -> ackTimer(e == null ? "success" : "error")
+                            .record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS)));
+        }
 
-    public void sendSalaryMessage(Salary salary) {
         try {
-            salary.setSalaryDate(null); // HACK to bypass the stupid jackson old module related with dates
-            String message = mapper.writeValueAsString(salary);
-            kafkaTemplate.send(topic, message);
-            System.out.println("Sent message: " + message);
-        } catch (JsonProcessingException ex) {
-            ex.printStackTrace();
-            System.err.println("Error serializing salary object.");
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending salary events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("[SalaryKafkaProducer.sendSalaryEvents] Could not send {} salary events: {}", events.size(), e.getMessage());
+            throw new IllegalStateException("Could not send salary events", e);
         }
+
+        log.debug("[SalaryKafkaProducer.sendSalaryEvents] Sent {} salary events.", events.size());
+    }
+
+    private Timer ackTimer(String result) {
+        return ackTimers.computeIfAbsent(result, key -> Timer.builder(ACK_METRIC)
+                .description("Time until the broker acknowledged a salary event")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 }
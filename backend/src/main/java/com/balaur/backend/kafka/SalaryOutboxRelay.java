@@ -0,0 +1,64 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.models.SalaryOutboxEvent;
+import com.balaur.backend.repositories.SalaryOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains {@code salary_outbox} into Kafka in batches. A batch is deleted in the same transaction that read it,
+ * only after the broker acknowledged every record, so a failed send leaves the rows for the next run
+ * (at-least-once delivery). A Postgres advisory lock lets a single replica relay at a time.
+ */
+@Slf4j
+@Component
+public class SalaryOutboxRelay {
+    private final SalaryOutboxRepository salaryOutboxRepository;
+    private final SalaryKafkaProducer salaryKafkaProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SalaryOutboxRelay(SalaryOutboxRepository salaryOutboxRepository,
+                             SalaryKafkaProducer salaryKafkaProducer,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${salaries.outbox.batch-size:500}") int batchSize) {
+        this.salaryOutboxRepository = salaryOutboxRepository;
+        this.salaryKafkaProducer = salaryKafkaProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${salaries.outbox.relay-interval:PT0.5S}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayNextBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            log.error("[SalaryOutboxRelay.relay] Could not relay salary events, will retry: {}", e.getMessage());
+        }
+    }
+
+    int relayNextBatch() {
+        if (!salaryOutboxRepository.tryLockRelay()) {
+            return 0;
+        }
+
+        List<SalaryOutboxEvent> batch = salaryOutboxRepository.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        salaryKafkaProducer.sendSalaryEvents(batch);
+        salaryOutboxRepository.deleteAllInBatch(batch);
+
+        log.debug("[SalaryOutboxRelay.relayNextBatch] Relayed {} salary events.", batch.size());
+        return batch.size();
+    }
+}
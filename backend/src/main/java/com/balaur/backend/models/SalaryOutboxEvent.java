@@ -0,0 +1,25 @@
+package com.balaur.backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "salary_outbox")
+@AllArgsConstructor
+@RequiredArgsConstructor
+@Getter
+@Setter
+public class SalaryOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long salaryId;
+    private String eventType;
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.balaur.backend.repositories;
+
+import com.balaur.backend.models.SalaryOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SalaryOutboxRepository extends JpaRepository<SalaryOutboxEvent, Long> {
+    // Transaction-scoped: only one replica relays at a time, which keeps events in outbox (commit) order
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('salary_outbox_relay'))", nativeQuery = true)
+    boolean tryLockRelay();
+
+    @Query(value = "SELECT * FROM salary_outbox ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<SalaryOutboxEvent> findNextBatch(@Param("limit") int limit);
+}
@@ -1,13 +1,85 @@
 package com.balaur.backend.repositories;
 
 import com.balaur.backend.models.Salary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface SalaryRepository extends JpaRepository<Salary, Integer> {
+public interface SalaryRepository extends JpaRepository<Salary, Integer>, JpaSpecificationExecutor<Salary> {
     @Query("select s from Salary s where s.id = :id")
     Optional<Salary> findById(@Param("id") Long id);
+
+    // Keyset pagination: every page is a primary key range scan, so page N costs the same as page 1
+    @Query(value = "SELECT * FROM salaries WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Salary> findPageAfterId(@Param("after") long after, @Param("limit") int limit);
+
+    // Served by idx_salaries_salary_date_id; rows with a NULL salary_date never reach this ordering
+    @Query(value = "SELECT * FROM salaries WHERE salary_date IS NOT NULL ORDER BY salary_date, id LIMIT :limit",
+            nativeQuery = true)
+    List<Salary> findFirstPageBySalaryDate(@Param("limit") int limit);
+
+    // The cursor carries its own salary date, so a page keeps going when the cursor row is edited or deleted
+    @Query(value = """
+            SELECT s.* FROM salaries s
+            WHERE (s.salary_date, s.id) > (:afterDate, :afterId)
+            ORDER BY s.salary_date, s.id
+            LIMIT :limit""", nativeQuery = true)
+    List<Salary> findPageAfterBySalaryDate(@Param("afterDate") LocalDateTime afterDate, @Param("afterId") long afterId,
+                                           @Param("limit") int limit);
+
+    /**
+     * Updates the salary and returns it with its previous employee and salary date, in one round trip. Empty when no
+     * salary has this id or, if {@code version} is set, when the salary has another version; the row lock taken by
+     * the subquery makes a concurrent edit wait and then fail the version check. Callers must be @Transactional.
+     */
+    @Query(value = """
+            UPDATE salaries s
+            SET salary = :salary, employee = :employee, salary_date = :salaryDate, version = s.version + 1
+            FROM (SELECT id, employee, salary_date FROM salaries WHERE id = :id FOR UPDATE) previous
+            WHERE s.id = previous.id AND (CAST(:version AS BIGINT) IS NULL OR s.version = :version)
+            RETURNING s.id AS "id", s.salary AS "salary", s.employee AS "employee", s.salary_date AS "salaryDate",
+                      s.version AS "version", previous.employee AS "previousEmployee",
+                      previous.salary_date AS "previousSalaryDate"
+            """, nativeQuery = true)
+    Optional<SalaryWriteResult> updateReturning(@Param("id") long id, @Param("salary") BigDecimal salary,
+                                                @Param("employee") String employee,
+                                                @Param("salaryDate") LocalDateTime salaryDate,
+                                                @Param("version") Long version);
+
+    /**
+     * Deletes the salary and returns the deleted row, in one round trip. Empty when no salary has this id or, if
+     * {@code version} is set, when the salary has another version. Callers must be @Transactional.
+     */
+    @Query(value = """
+            DELETE FROM salaries
+            WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)
+            RETURNING id AS "id", salary AS "salary", employee AS "employee", salary_date AS "salaryDate",
+                      version AS "version", employee AS "previousEmployee",
+                      salary_date AS "previousSalaryDate"
+            """, nativeQuery = true)
+    Optional<SalaryWriteResult> deleteReturning(@Param("id") long id, @Param("version") Long version);
+
+    // Planner statistics instead of count(*): reltuples is -1 until the table is first analyzed
+    @Query(value = "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = 'salaries'::regclass",
+            nativeQuery = true)
+    long estimateCount();
+
+    // Server-side cursor: PgJDBC only honours the fetch size inside a transaction, so callers must be @Transactional
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select s from Salary s order by s.id")
+    Stream<Salary> streamAllOrderedById();
 }
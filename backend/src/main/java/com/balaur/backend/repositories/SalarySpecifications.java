@@ -0,0 +1,58 @@
+package com.balaur.backend.repositories;
+
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.requests.SalaryPageRequest;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered salary page queries. Only the filters that are set end up in the SQL, so the planner can use
+ * idx_salaries_employee_id / idx_salaries_employee_salary_date_id for one employee instead of a catch-all plan.
+ */
+public final class SalarySpecifications {
+    private SalarySpecifications() {
+    }
+
+    public static Specification<Salary> matches(SalaryPageRequest pageRequest) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (pageRequest.getEmployee() != null) {
+                predicates.add(cb.equal(root.get("employee"), pageRequest.getEmployee()));
+            }
+            if (pageRequest.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salaryDate"), pageRequest.getFrom()));
+            }
+            if (pageRequest.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("salaryDate"), pageRequest.getTo()));
+            }
+            if (pageRequest.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), pageRequest.getMinSalary()));
+            }
+            if (pageRequest.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), pageRequest.getMaxSalary()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Salary> idAfter(long after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<Salary> hasSalaryDate() {
+        return (root, query, cb) -> cb.isNotNull(root.get("salaryDate"));
+    }
+
+    // Row comparison (salary_date, id) > (cursorDate, cursorId), spelled out for the criteria API
+    public static Specification<Salary> salaryDateAfter(LocalDateTime cursorDate, long cursorId) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("salaryDate"), cursorDate),
+                cb.and(cb.equal(root.get("salaryDate"), cursorDate), cb.greaterThan(root.get("id"), cursorId)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.balaur.backend.repositories;
+
+import com.balaur.backend.models.Salary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A salary row as returned by {@link SalaryRepository#updateReturning} and {@link SalaryRepository#deleteReturning},
+ * together with the employee and salary date it had before the write.
+ */
+public interface SalaryWriteResult {
+    Long getId();
+
+    BigDecimal getSalary();
+
+    String getEmployee();
+
+    LocalDateTime getSalaryDate();
+
+    Long getVersion();
+
+    String getPreviousEmployee();
+
+    LocalDateTime getPreviousSalaryDate();
+
+    default Salary toSalary() {
+        return new Salary(getId(), getSalary(), getEmployee(), getSalaryDate(), getVersion());
+    }
+}
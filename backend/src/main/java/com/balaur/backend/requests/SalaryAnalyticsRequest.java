@@ -0,0 +1,47 @@
+package com.balaur.backend.requests;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalaryAnalyticsRequest {
+    // Exact employee name
+    @Size(max = 255)
+    private String employee;
+
+    // Salary date range by day, from inclusive and to exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    // Salary range, both inclusive
+    @DecimalMin("0.0")
+    private BigDecimal minSalary;
+
+    @DecimalMin("0.0")
+    private BigDecimal maxSalary;
+
+    // Percentiles to compute, e.g. percentiles=50,90,99
+    @Size(max = 20)
+    private List<@NotNull @DecimalMin("0.0") @DecimalMax("100.0") Double> percentiles = List.of();
+
+    public void setEmployee(String employee) {
+        this.employee = employee == null || employee.isBlank() ? null : employee.trim();
+    }
+}
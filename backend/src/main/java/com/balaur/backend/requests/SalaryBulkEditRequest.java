@@ -0,0 +1,47 @@
+package com.balaur.backend.requests;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The selected salaries and the fields to change on all of them; fields left null are kept. {@code salary} sets
+ * one amount, {@code salaryAdjustment} adds to (or, when negative, subtracts from) each current amount.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalaryBulkEditRequest extends SalarySelectionRequest {
+    @DecimalMin(value = "0.0", inclusive = false)
+    private BigDecimal salary;
+
+    private BigDecimal salaryAdjustment;
+
+    @Size(min = 1, max = 255)
+    private String newEmployee;
+
+    private LocalDateTime salaryDate;
+
+    public void setNewEmployee(String newEmployee) {
+        this.newEmployee = newEmployee == null ? null : newEmployee.trim();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "set salary, salaryAdjustment, newEmployee or salaryDate")
+    public boolean isChanging() {
+        return salary != null || salaryAdjustment != null || newEmployee != null || salaryDate != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "salary and salaryAdjustment can't be used together")
+    public boolean isSalaryChangeUnambiguous() {
+        return salary == null || salaryAdjustment == null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.balaur.backend.requests;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalaryPageRequest {
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_SALARY_DATE = "salaryDate";
+    public static final String LINKS_FULL = "full";
+    public static final String LINKS_COMPACT = "compact";
+    public static final String LINKS_NONE = "none";
+
+    // Id of the last salary from the previous page (keyset cursor), null for the first page
+    @Min(0)
+    private Long after;
+
+    // Salary date of that salary, the other half of the cursor with sort=salaryDate. Next links from before it
+    // existed carry the id only, which is then resolved through the cursor row.
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime afterDate;
+
+    @Min(1)
+    @Max(500)
+    private int size = 50;
+
+    @Pattern(regexp = SORT_BY_ID + "|" + SORT_BY_SALARY_DATE)
+    private String sort = SORT_BY_ID;
+
+    // Exact employee name
+    @Size(max = 255)
+    private String employee;
+
+    // Salary date range, from inclusive and to exclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Salary range, both inclusive
+    @DecimalMin("0.0")
+    private BigDecimal minSalary;
+
+    @DecimalMin("0.0")
+    private BigDecimal maxSalary;
+
+    // Per-row links (full), one set of URI templates for the whole page (compact) or no row links at all (none).
+    // Only changes how the page is rendered, so it isn't part of the cache key.
+    @Pattern(regexp = LINKS_FULL + "|" + LINKS_COMPACT + "|" + LINKS_NONE)
+    private String links = LINKS_FULL;
+
+    public void setEmployee(String employee) {
+        this.employee = employee == null || employee.isBlank() ? null : employee.trim();
+    }
+
+    /**
+     * The same request, continued after the given cursor.
+     */
+    public SalaryPageRequest withAfter(Long after, LocalDateTime afterDate) {
+        return new SalaryPageRequest(after, afterDate, size, sort, employee, from, to, minSalary, maxSalary, links);
+    }
+
+    public boolean isSortedBySalaryDate() {
+        return SORT_BY_SALARY_DATE.equals(sort);
+    }
+
+    public boolean hasFilters() {
+        return employee != null || from != null || to != null || minSalary != null || maxSalary != null;
+    }
+
+    /**
+     * Same filters, same key: amounts are compared by value ({@code 5000} and {@code 5000.00} match) and the
+     * employee name is URL-encoded so it can't clash with the separators.
+     */
+    public String getCacheKey() {
+        String cursor = after == null ? "-" : after + (isSortedBySalaryDate() && afterDate != null ? "@" + afterDate : "");
+        String key = sort + ":" + cursor + ":" + size;
+        return hasFilters() ? key + ":" + getFilterQuery() : key;
+    }
+
+    /**
+     * The filters as URL query parameters ({@code employee=...&from=...}), empty without filters.
+     */
+    public String getFilterQuery() {
+        StringBuilder query = new StringBuilder();
+        appendParameter(query, "employee", employee == null ? null : URLEncoder.encode(employee, StandardCharsets.UTF_8));
+        appendParameter(query, "from", from == null ? null : from.toString());
+        appendParameter(query, "to", to == null ? null : to.toString());
+        appendParameter(query, "minSalary", normalize(minSalary));
+        appendParameter(query, "maxSalary", normalize(maxSalary));
+        return query.toString();
+    }
+
+    private static void appendParameter(StringBuilder query, String name, String value) {
+        if (value == null) {
+            return;
+        }
+
+        if (!query.isEmpty()) {
+            query.append('&');
+        }
+        query.append(name).append('=').append(value);
+    }
+
+    private static String normalize(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros().toPlainString();
+    }
+}
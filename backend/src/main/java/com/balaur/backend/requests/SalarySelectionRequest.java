@@ -0,0 +1,45 @@
+package com.balaur.backend.requests;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selects the salaries of a bulk operation: by id, by the same filters as {@link SalaryPageRequest}, or both, in
+ * which case a salary has to match all of them. An empty selection is rejected instead of matching every row.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalarySelectionRequest {
+    public static final int MAX_IDS = 5000;
+
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> ids;
+
+    @Size(max = 255)
+    private String employee;
+
+    // Inclusive
+    private LocalDateTime from;
+
+    // Exclusive
+    private LocalDateTime to;
+
+    public void setEmployee(String employee) {
+        this.employee = employee == null || employee.isBlank() ? null : employee.trim();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "select salaries by ids, employee or date range")
+    public boolean isSelective() {
+        return (ids != null && !ids.isEmpty()) || employee != null || from != null || to != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.balaur.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSearchResponse {
+    private String query;
+    private List<EmployeeSuggestion> data;
+    private List<Link> links;
+}
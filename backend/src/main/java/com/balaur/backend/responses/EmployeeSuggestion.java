@@ -0,0 +1,17 @@
+package com.balaur.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSuggestion {
+    private String employee;
+    private long salaryCount;
+    // exact, prefix, word or fuzzy
+    private String match;
+}
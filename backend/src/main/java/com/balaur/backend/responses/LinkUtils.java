@@ -1,25 +1,50 @@
 package com.balaur.backend.responses;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class LinkUtils {
+    // Row links per version and self method; links are immutable, so the id-free ones are shared by every row
+    private static final Map<String, Map<String, RowLinks>> ROW_LINKS = new ConcurrentHashMap<>();
+    private static final Map<String, List<Link>> ROW_LINK_TEMPLATES = new ConcurrentHashMap<>();
+
     public static List<Link> generateLinks(String method, String version, String id) {
-        List<Link> links = List.of(
-                new Link("get", "/api/" + version + "/salaries", "GET", version),
-                new Link("add", "/api/" + version + "/salaries/add", "POST", version),
-                new Link("edit", "/api/" + version + "/salaries/edit/{id}", "PATCH", version),
-                new Link("delete", "/api/" + version + "/salaries/delete/{id}", "DELETE", version)
-        );
+        return ROW_LINKS.computeIfAbsent(version, v -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new RowLinks(m, version))
+                .forId(id);
+    }
 
-        return links.stream()
-                .map(link -> {
-                    String href = link.getHref().replace("{id}", id);
-                    String rel = link.getMethod().equalsIgnoreCase(method) ? "self" : link.getRel();
+    /**
+     * The per-row links as URI templates with an {@code {id}} placeholder, for responses that leave the row links out.
+     */
+    public static List<Link> generateLinkTemplates(String version) {
+        return ROW_LINK_TEMPLATES.computeIfAbsent(version, v -> List.of(
+                new Link("edit", "/api/" + v + "/salaries/edit/{id}", "PATCH", v),
+                new Link("delete", "/api/" + v + "/salaries/delete/{id}", "DELETE", v)
+        ));
+    }
 
-                    return new Link(rel, href, link.getMethod(), link.getVersion());
-                })
-                .collect(Collectors.toList());
+    public static Link generateNextLink(String version, Long nextCursor, int size, String sort) {
+        return generateNextLink(version, nextCursor, null, size, sort, "");
+    }
+
+    /**
+     * @param nextCursorDate salary date of the cursor row, with sort=salaryDate; null otherwise
+     */
+    public static Link generateNextLink(String version, Long nextCursor, LocalDateTime nextCursorDate, int size, String sort,
+                                        String filterQuery) {
+        String href = "/api/" + version + "/salaries/?after=" + nextCursor + "&size=" + size + "&sort=" + sort;
+        if (nextCursorDate != null) {
+            href += "&afterDate=" + nextCursorDate;
+        }
+        if (!filterQuery.isEmpty()) {
+            href += "&" + filterQuery;
+        }
+
+        return new Link("next", href, "GET", version);
     }
 
     public static List<Link> generateErrorLink(String rel, String method, String version, String id) {
@@ -45,4 +70,34 @@ public class LinkUtils {
                 })
                 .collect(Collectors.toList());
     }
+
+    private static final class RowLinks {
+        private final Link get;
+        private final Link add;
+        private final String editRel;
+        private final String editHref;
+        private final String deleteRel;
+        private final String deleteHref;
+        private final String version;
+
+        private RowLinks(String method, String version) {
+            this.get = new Link(rel("get", "GET", method), "/api/" + version + "/salaries", "GET", version);
+            this.add = new Link(rel("add", "POST", method), "/api/" + version + "/salaries/add", "POST", version);
+            this.editRel = rel("edit", "PATCH", method);
+            this.editHref = "/api/" + version + "/salaries/edit/";
+            this.deleteRel = rel("delete", "DELETE", method);
+            this.deleteHref = "/api/" + version + "/salaries/delete/";
+            this.version = version;
+        }
+
+        private List<Link> forId(String id) {
+            return List.of(get, add,
+                    new Link(editRel, editHref.concat(id), "PATCH", version),
+                    new Link(deleteRel, deleteHref.concat(id), "DELETE", version));
+        }
+
+        private static String rel(String rel, String httpMethod, String method) {
+            return httpMethod.equalsIgnoreCase(method) ? "self" : rel;
+        }
+    }
 }
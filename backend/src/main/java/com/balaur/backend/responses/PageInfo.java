@@ -0,0 +1,29 @@
+package com.balaur.backend.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageInfo {
+    public static final long UNKNOWN_TOTAL = -1;
+
+    private int size;
+    private String sort;
+    private Long after;
+    // Salary date half of the cursors, with sort=salaryDate only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime afterDate;
+    private Long nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime nextCursorDate;
+    // Planner estimate (pg_class.reltuples), not an exact count(*); UNKNOWN_TOTAL for filtered pages
+    private long totalElements;
+}
@@ -1,5 +1,6 @@
 package com.balaur.backend.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,11 @@ import java.util.List;
 public class SalariesResponseWrapper {
     private List<SalaryResponse> data;
     private List<Link> links;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageInfo page;
+
+    public SalariesResponseWrapper(List<SalaryResponse> data, List<Link> links) {
+        this(data, links, null);
+    }
 }
@@ -0,0 +1,20 @@
+package com.balaur.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryAggregate {
+    // Employee name or YYYY-MM month, depending on the grouping
+    private String key;
+    private BigDecimal total;
+    private BigDecimal average;
+    private long count;
+}
@@ -0,0 +1,29 @@
+package com.balaur.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryAnalyticsResponse {
+    private long count;
+    private BigDecimal total;
+    private BigDecimal average;
+    private BigDecimal min;
+    private BigDecimal max;
+    // Keyed by the requested percentile, e.g. "50" or "99.9"
+    private Map<String, BigDecimal> percentiles;
+    // Salaries held in memory and their approximate heap footprint
+    private int rowsInMemory;
+    private long footprintBytes;
+    private String message;
+    private List<Link> links;
+}
@@ -0,0 +1,23 @@
+package com.balaur.backend.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalaryBulkResponse {
+    private long affectedRows;
+    // Distinct employees the affected salaries belonged to before the change
+    private long affectedEmployees;
+    private long durationMillis;
+    private String message;
+    private List<Link> links;
+}
@@ -0,0 +1,23 @@
+package com.balaur.backend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryChange {
+    private long version;
+    private Long salaryId;
+    // created, updated or deleted; the salary fields are null for deleted salaries
+    private String change;
+    private BigDecimal salary;
+    private String employee;
+    private LocalDateTime salaryDate;
+}
@@ -0,0 +1,24 @@
+package com.balaur.backend.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalaryChangesResponse {
+    private Long since;
+    // Pass as since to get the next changes
+    private Long version;
+    private Boolean hasMore;
+    private String message;
+    private List<SalaryChange> data;
+    private List<Link> links;
+}
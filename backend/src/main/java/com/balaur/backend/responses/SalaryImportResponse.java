@@ -0,0 +1,24 @@
+package com.balaur.backend.responses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SalaryImportResponse {
+    private long importedRows;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private String message;
+    // "row N: field" for the first invalid rows; nothing is imported when there are any
+    private List<String> errors;
+    private List<Link> links;
+}
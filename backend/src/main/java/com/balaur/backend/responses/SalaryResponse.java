@@ -1,5 +1,6 @@
 package com.balaur.backend.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,5 +20,12 @@ public class SalaryResponse {
     private String employee;
     private LocalDateTime salaryDate;
     private String message;
+
+    // Current Salary.version, for If-Match on edit and delete; left out of error responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
+    // Left out of list pages requested with links=compact or links=none
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<Link> links;
 }
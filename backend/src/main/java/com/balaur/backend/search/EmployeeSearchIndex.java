@@ -0,0 +1,422 @@
+package com.balaur.backend.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process typeahead index over the distinct employee names, with the number of salaries per name for ranking.
+ * <p>
+ * Names are matched after lower-casing and stripping accents, in this order: exact match, prefix of the name,
+ * prefix of one of its words, then, for typos, trigram similarity of every query word to the words of the name.
+ * Writes on this replica update the index directly and are broadcast to the other replicas on
+ * {@value #CHANGES_CHANNEL}; a periodic reload from the database ({@code salaries.search.refresh-interval})
+ * corrects anything a lost message missed.
+ */
+@Slf4j
+@Component
+public class EmployeeSearchIndex implements MessageListener {
+    public static final String CHANGES_CHANNEL = "salaries:employees";
+
+    private static final String COUNT_SALARIES_BY_EMPLOYEE =
+            "SELECT employee, count(*) FROM salaries WHERE employee IS NOT NULL GROUP BY employee";
+
+    // Prefix matches are ranked among at most this many index entries, so one-letter queries stay cheap
+    private static final int PREFIX_SCAN_LIMIT = 500;
+    private static final int FUZZY_CANDIDATE_LIMIT = 1000;
+    private static final int MIN_FUZZY_WORD_LENGTH = 3;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final Comparator<Match> RANKING = Comparator.comparing(Match::type)
+            .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+            .thenComparing(Comparator.comparingLong(Match::salaryCount).reversed())
+            .thenComparing(Match::employee);
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Tables tables = new Tables();
+
+    public EmployeeSearchIndex(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Match> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Match> matches = new HashMap<>();
+            addPrefixMatches(normalized, matches);
+            if (matches.size() < limit) {
+                addSimilarNames(normalized, matches);
+            }
+
+            return matches.values().stream().sorted(RANKING).limit(limit).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addPrefixMatches(String normalized, Map<String, Match> matches) {
+        int scanned = 0;
+        for (Set<String> employees : tables.prefixes.subMap(normalized, normalized + Character.MAX_VALUE).values()) {
+            if (++scanned > PREFIX_SCAN_LIMIT) {
+                return;
+            }
+
+            for (String employee : employees) {
+                Entry entry = tables.entries.get(employee);
+                MatchType type = entry.normalized.equals(normalized) ? MatchType.EXACT
+                        : entry.normalized.startsWith(normalized) ? MatchType.PREFIX : MatchType.WORD;
+                matches.merge(employee, new Match(employee, entry.salaryCount, type, 1.0), Match::best);
+            }
+        }
+    }
+
+    /**
+     * Every query word must be similar to a word of the name (Jaccard similarity of their trigrams); the name
+     * scores the average over the query words. Only words sharing a trigram with the query word are compared.
+     */
+    private void addSimilarNames(String normalized, Map<String, Match> matches) {
+        String[] queryWords = normalized.split(" ");
+        Map<String, double[]> wordScores = new HashMap<>();
+
+        for (int i = 0; i < queryWords.length; i++) {
+            if (queryWords[i].length() < MIN_FUZZY_WORD_LENGTH) {
+                return;
+            }
+
+            for (Map.Entry<String, Double> similarWord : similarWords(queryWords[i]).entrySet()) {
+                for (String employee : tables.words.get(similarWord.getKey())) {
+                    double[] scores = wordScores.computeIfAbsent(employee, e -> new double[queryWords.length]);
+                    scores[i] = Math.max(scores[i], similarWord.getValue());
+                }
+            }
+        }
+
+        for (Map.Entry<String, double[]> candidate : wordScores.entrySet()) {
+            String employee = candidate.getKey();
+            if (matches.containsKey(employee)) {
+                continue;
+            }
+
+            double total = 0;
+            boolean allWordsMatched = true;
+            for (double score : candidate.getValue()) {
+                allWordsMatched &= score > 0;
+                total += score;
+            }
+
+            if (allWordsMatched) {
+                Entry entry = tables.entries.get(employee);
+                matches.put(employee, new Match(employee, entry.salaryCount, MatchType.FUZZY, total / queryWords.length));
+            }
+        }
+    }
+
+    /*
+     * A word with a Jaccard similarity of at least MIN_SIMILARITY shares at least that share of the query's
+     * trigrams, so it is in one of the rarest (trigrams - minShared + 1) posting lists. Only those are read,
+     * up to FUZZY_CANDIDATE_LIMIT words, and every candidate is then checked directly.
+     */
+    private Map<String, Double> similarWords(String queryWord) {
+        Set<String> queryTrigrams = trigramsOf(queryWord);
+        List<Set<String>> postings = queryTrigrams.stream()
+                .map(trigram -> tables.wordTrigrams.getOrDefault(trigram, Set.<String>of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        int minShared = (int) Math.ceil(MIN_SIMILARITY * queryTrigrams.size());
+
+        Set<String> candidates = new HashSet<>();
+        for (int i = 0; i <= postings.size() - minShared && candidates.size() < FUZZY_CANDIDATE_LIMIT; i++) {
+            for (String word : postings.get(i)) {
+                candidates.add(word);
+                if (candidates.size() >= FUZZY_CANDIDATE_LIMIT) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, Double> similar = new HashMap<>();
+        for (String word : candidates) {
+            String padded = "  " + word + " ";
+            int shared = 0;
+            for (String trigram : queryTrigrams) {
+                if (padded.contains(trigram)) {
+                    shared++;
+                }
+            }
+
+            // A padded word has one trigram per character plus one, repeats aside
+            double similarity = (double) shared / (queryTrigrams.size() + word.length() + 1 - shared);
+            if (similarity >= MIN_SIMILARITY) {
+                similar.put(word, similarity);
+            }
+        }
+        return similar;
+    }
+
+    public void salarySaved(String employee, String previousEmployee, boolean created) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (created || !Objects.equals(employee, previousEmployee)) {
+            addDelta(deltas, employee, 1);
+            if (!created) {
+                addDelta(deltas, previousEmployee, -1);
+            }
+        }
+        publishChanges(deltas);
+    }
+
+    public void salariesCreated(Map<String, Long> salariesPerEmployee) {
+        Map<String, Long> deltas = new HashMap<>();
+        salariesPerEmployee.forEach((employee, count) -> addDelta(deltas, employee, count));
+        publishChanges(deltas);
+    }
+
+    public void salaryDeleted(String employee) {
+        Map<String, Long> deltas = new HashMap<>();
+        addDelta(deltas, employee, -1);
+        publishChanges(deltas);
+    }
+
+    public void salariesDeleted(Map<String, Long> salariesPerEmployee) {
+        Map<String, Long> deltas = new HashMap<>();
+        salariesPerEmployee.forEach((employee, count) -> addDelta(deltas, employee, -count));
+        publishChanges(deltas);
+    }
+
+    public void salariesReassigned(Map<String, Long> salariesPerPreviousEmployee, String employee) {
+        Map<String, Long> deltas = new HashMap<>();
+        salariesPerPreviousEmployee.forEach((previousEmployee, count) -> {
+            addDelta(deltas, previousEmployee, -count);
+            addDelta(deltas, employee, count);
+        });
+        publishChanges(deltas);
+    }
+
+    private static void addDelta(Map<String, Long> deltas, String employee, long delta) {
+        if (employee != null) {
+            deltas.merge(employee, delta, Long::sum);
+        }
+    }
+
+    private void publishChanges(Map<String, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        apply(deltas);
+        try {
+            redisTemplate.convertAndSend(CHANGES_CHANNEL, objectMapper.writeValueAsString(new Changes(instanceId, deltas)));
+        } catch (Exception e) {
+            log.error("[EmployeeSearchIndex.publishChanges] Could not broadcast employee index changes: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String payload = (String) redisTemplate.getValueSerializer().deserialize(message.getBody());
+            Changes changes = objectMapper.readValue(payload, Changes.class);
+            if (!instanceId.equals(changes.origin())) {
+                apply(changes.deltas());
+            }
+        } catch (Exception e) {
+            log.error("[EmployeeSearchIndex.onMessage] Could not apply employee index changes: {}", e.getMessage());
+        }
+    }
+
+    void apply(Map<String, Long> deltas) {
+        lock.writeLock().lock();
+        try {
+            deltas.forEach(tables::addSalaries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database off-lock and swaps it in. Changes made while the query runs can be
+     * counted twice or missed until the next reload; they only affect ranking and names that just appeared or
+     * disappeared.
+     */
+    @Scheduled(fixedDelayString = "${salaries.search.refresh-interval:PT10M}")
+    public void reload() {
+        long startNanos = System.nanoTime();
+        Map<String, Long> counts = new HashMap<>();
+        try {
+            jdbcTemplate.query(COUNT_SALARIES_BY_EMPLOYEE, rs -> {
+                counts.put(rs.getString(1), rs.getLong(2));
+            });
+        } catch (Exception e) {
+            log.error("[EmployeeSearchIndex.reload] Could not reload the employee index: {}", e.getMessage());
+            return;
+        }
+
+        replaceAll(counts);
+        log.info("[EmployeeSearchIndex.reload] Indexed {} employees in {} ms.",
+                counts.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    void replaceAll(Map<String, Long> counts) {
+        Tables newTables = new Tables();
+        counts.forEach(newTables::addSalaries);
+
+        lock.writeLock().lock();
+        try {
+            tables = newTables;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Padded, so the start and end of the word weigh in as well
+    private static Set<String> trigramsOf(String word) {
+        String padded = "  " + word + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        String withoutAccents = value.chars().allMatch(c -> c < 0x80) ? value
+                : ACCENTS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    public enum MatchType {
+        EXACT, PREFIX, WORD, FUZZY
+    }
+
+    public record Match(String employee, long salaryCount, MatchType type, double similarity) {
+        private static Match best(Match a, Match b) {
+            return a.type().compareTo(b.type()) <= 0 ? a : b;
+        }
+    }
+
+    record Changes(String origin, Map<String, Long> deltas) {
+    }
+
+    private static final class Entry {
+        private final String normalized;
+        private long salaryCount;
+
+        private Entry(String normalized, long salaryCount) {
+            this.normalized = normalized;
+            this.salaryCount = salaryCount;
+        }
+    }
+
+    /**
+     * The lookup tables, swapped as a whole on reload. Not thread-safe on its own.
+     */
+    private static final class Tables {
+        private final Map<String, Entry> entries = new HashMap<>();
+        // The normalized name and its tail from every word on, each to the names it belongs to
+        private final TreeMap<String, Set<String>> prefixes = new TreeMap<>();
+        // Normalized words to the names containing them, and word trigrams to the words
+        private final Map<String, Set<String>> words = new HashMap<>();
+        private final Map<String, Set<String>> wordTrigrams = new HashMap<>();
+
+        private void addSalaries(String employee, long delta) {
+            Entry entry = entries.get(employee);
+            long count = (entry == null ? 0 : entry.salaryCount) + delta;
+
+            if (count <= 0) {
+                if (entry != null) {
+                    entries.remove(employee);
+                    unindex(employee, entry.normalized);
+                }
+            } else if (entry == null) {
+                String normalized = normalize(employee);
+                entries.put(employee, new Entry(normalized, count));
+                index(employee, normalized);
+            } else {
+                entry.salaryCount = count;
+            }
+        }
+
+        private void index(String employee, String normalized) {
+            for (String key : prefixKeysOf(normalized)) {
+                prefixes.computeIfAbsent(key, k -> new HashSet<>(2)).add(employee);
+            }
+
+            for (String word : normalized.split(" ")) {
+                Set<String> employees = words.computeIfAbsent(word, w -> new HashSet<>(2));
+                if (employees.isEmpty()) {
+                    trigramsOf(word).forEach(trigram -> wordTrigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(word));
+                }
+                employees.add(employee);
+            }
+        }
+
+        private void unindex(String employee, String normalized) {
+            for (String key : prefixKeysOf(normalized)) {
+                removeFrom(prefixes, key, employee);
+            }
+
+            for (String word : normalized.split(" ")) {
+                if (removeFrom(words, word, employee)) {
+                    trigramsOf(word).forEach(trigram -> removeFrom(wordTrigrams, trigram, word));
+                }
+            }
+        }
+
+        // True when the last value of the key was removed
+        private static boolean removeFrom(Map<String, Set<String>> index, String key, String value) {
+            Set<String> values = index.get(key);
+            if (values != null && values.remove(value) && values.isEmpty()) {
+                index.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        private static Set<String> prefixKeysOf(String normalized) {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(normalized.substring(i + 1));
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.kafka.SalaryEvent;
+import com.balaur.backend.kafka.SalaryEventHandler;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.SalaryAggregate;
+import com.balaur.backend.responses.SalaryAggregatesResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Payroll totals, averages and counts per employee and per month, kept in {@code salary_aggregates}.
+ * <p>
+ * Every salary event moves that salary's contribution (recorded in {@code salary_aggregate_members}) from its
+ * old groups to its new ones, so reads cost O(groups), edits that change the month or the employee stay
+ * correct, and a redelivered event is a no-op.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryAggregateService implements SalaryEventHandler {
+    public static final String GROUP_BY_EMPLOYEE = "employee";
+    public static final String GROUP_BY_MONTH = "month";
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final String FIND_MEMBER =
+            "SELECT employee, salary_month, salary FROM salary_aggregate_members WHERE salary_id = ? FOR UPDATE";
+    private static final String UPSERT_MEMBER = """
+            INSERT INTO salary_aggregate_members (salary_id, employee, salary_month, salary) VALUES (?, ?, ?, ?)
+            ON CONFLICT (salary_id) DO UPDATE
+                SET employee = EXCLUDED.employee, salary_month = EXCLUDED.salary_month, salary = EXCLUDED.salary""";
+    private static final String DELETE_MEMBER = "DELETE FROM salary_aggregate_members WHERE salary_id = ?";
+    private static final String APPLY_DELTA = """
+            INSERT INTO salary_aggregates (dimension, group_key, total, salary_count) VALUES (?, ?, ?, ?)
+            ON CONFLICT (dimension, group_key) DO UPDATE
+                SET total = salary_aggregates.total + EXCLUDED.total,
+                    salary_count = salary_aggregates.salary_count + EXCLUDED.salary_count""";
+    private static final String DELETE_EMPTY_GROUP =
+            "DELETE FROM salary_aggregates WHERE dimension = ? AND group_key = ? AND salary_count = 0";
+    private static final String FIND_AGGREGATES =
+            "SELECT group_key, total, salary_count FROM salary_aggregates WHERE dimension = ? ORDER BY group_key";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String version = "v1";
+
+    public ResponseEntity<SalaryAggregatesResponse> getAggregates(String groupBy) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/aggregates?groupBy=" + groupBy, "GET", version));
+
+        List<SalaryAggregate> aggregates;
+        try {
+            aggregates = jdbcTemplate.query(FIND_AGGREGATES, (rs, rowNum) -> {
+                BigDecimal total = rs.getBigDecimal("total");
+                long count = rs.getLong("salary_count");
+                return SalaryAggregate.builder()
+                        .key(rs.getString("group_key"))
+                        .total(total)
+                        .average(total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP))
+                        .count(count)
+                        .build();
+            }, groupBy);
+        } catch (Exception e) {
+            log.error("[SalaryAggregateService.getAggregates] Error retrieving salary aggregates by {}: {}", groupBy, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(SalaryAggregatesResponse.builder().groupBy(groupBy).data(List.of()).links(links).build());
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(SalaryAggregatesResponse.builder().groupBy(groupBy).data(aggregates).links(links).build());
+    }
+
+    @Override
+    @Transactional
+    public void handle(SalaryEvent event) {
+        // Locks the member row, so concurrent events of one salary are applied one after the other
+        Contribution previous = jdbcTemplate.query(FIND_MEMBER, rs -> rs.next()
+                ? new Contribution(rs.getString("employee"), rs.getString("salary_month"), rs.getBigDecimal("salary"))
+                : null, event.getSalaryId());
+        Contribution next = event.getEventType() == SalaryEventType.DELETED ? null : Contribution.of(event);
+
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+
+        // Sorted, so concurrent events always lock aggregate rows in the same order
+        Map<GroupKey, Delta> deltas = new TreeMap<>();
+        if (previous != null) {
+            previous.addTo(deltas, -1);
+        }
+        if (next != null) {
+            next.addTo(deltas, 1);
+        }
+
+        deltas.forEach((group, delta) -> {
+            if (delta.count() == 0 && delta.total().signum() == 0) {
+                return;
+            }
+
+            jdbcTemplate.update(APPLY_DELTA, group.dimension(), group.key(), delta.total(), delta.count());
+            if (delta.count() < 0) {
+                jdbcTemplate.update(DELETE_EMPTY_GROUP, group.dimension(), group.key());
+            }
+        });
+
+        if (next == null) {
+            jdbcTemplate.update(DELETE_MEMBER, event.getSalaryId());
+        } else {
+            jdbcTemplate.update(UPSERT_MEMBER, event.getSalaryId(), next.employee(), next.month(), next.salary());
+        }
+    }
+
+    private record GroupKey(String dimension, String key) implements Comparable<GroupKey> {
+        @Override
+        public int compareTo(GroupKey other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : key.compareTo(other.key);
+        }
+    }
+
+    private record Delta(BigDecimal total, long count) {
+        Delta plus(Delta other) {
+            return new Delta(total.add(other.total), count + other.count);
+        }
+    }
+
+    private record Contribution(String employee, String month, BigDecimal salary) {
+        Contribution {
+            // Same scale as the NUMERIC(19, 2) column, so equal amounts compare equal
+            salary = salary.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        static Contribution of(SalaryEvent event) {
+            if (event.getSalary() == null || event.getEmployee() == null) {
+                return null;
+            }
+
+            String month = event.getSalaryDate() == null ? null : event.getSalaryDate().format(MONTH_FORMAT);
+            return new Contribution(event.getEmployee(), month, event.getSalary());
+        }
+
+        void addTo(Map<GroupKey, Delta> deltas, int sign) {
+            Delta delta = new Delta(sign < 0 ? salary.negate() : salary, sign);
+            deltas.merge(new GroupKey(GROUP_BY_EMPLOYEE, employee), delta, Delta::plus);
+            if (month != null) {
+                deltas.merge(new GroupKey(GROUP_BY_MONTH, month), delta, Delta::plus);
+            }
+        }
+    }
+}
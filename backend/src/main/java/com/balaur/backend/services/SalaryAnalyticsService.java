@@ -0,0 +1,99 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.analytics.SalaryColumnFilter;
+import com.balaur.backend.analytics.SalaryColumnStore;
+import com.balaur.backend.requests.SalaryAnalyticsRequest;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.SalaryAggregate;
+import com.balaur.backend.responses.SalaryAggregatesResponse;
+import com.balaur.backend.responses.SalaryAnalyticsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "salaries.analytics.enabled", havingValue = "true")
+public class SalaryAnalyticsService {
+    private static final String SNAPSHOT_LOADING_MESSAGE = "Salary analytics are still loading, try again shortly.";
+
+    private final SalaryColumnStore salaryColumnStore;
+    private final String version = "v1";
+
+    public ResponseEntity<SalaryAnalyticsResponse> getSummary(SalaryAnalyticsRequest request) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/analytics", "GET", version));
+        if (!salaryColumnStore.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(SalaryAnalyticsResponse.builder().message(SNAPSHOT_LOADING_MESSAGE).links(links).build());
+        }
+
+        double[] percentiles = request.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        long startNanos = System.nanoTime();
+        SalaryColumnStore.Summary summary = salaryColumnStore.summarize(toFilter(request), percentiles);
+        log.debug("[SalaryAnalyticsService.getSummary] Scanned {} salaries in {} µs.",
+                summary.rows(), (System.nanoTime() - startNanos) / 1_000);
+
+        Map<String, BigDecimal> percentileValues = new LinkedHashMap<>();
+        if (summary.count() > 0) {
+            for (int i = 0; i < percentiles.length; i++) {
+                percentileValues.put(BigDecimal.valueOf(percentiles[i]).stripTrailingZeros().toPlainString(),
+                        fromCents(summary.percentileCents()[i]));
+            }
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(SalaryAnalyticsResponse.builder()
+                .count(summary.count())
+                .total(fromCents(summary.totalCents()))
+                .average(average(summary.totalCents(), summary.count()))
+                .min(summary.count() == 0 ? null : fromCents(summary.minCents()))
+                .max(summary.count() == 0 ? null : fromCents(summary.maxCents()))
+                .percentiles(percentileValues)
+                .rowsInMemory(summary.rows())
+                .footprintBytes(summary.footprintBytes())
+                .links(links)
+                .build());
+    }
+
+    public ResponseEntity<SalaryAggregatesResponse> getGroups(String groupBy, SalaryAnalyticsRequest request) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/analytics/groups?groupBy=" + groupBy, "GET", version));
+        if (!salaryColumnStore.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(SalaryAggregatesResponse.builder().groupBy(groupBy).data(List.of()).links(links).build());
+        }
+
+        List<SalaryAggregate> groups = salaryColumnStore.groupBy(groupBy, toFilter(request)).stream()
+                .map(group -> SalaryAggregate.builder()
+                        .key(group.key())
+                        .total(fromCents(group.totalCents()))
+                        .average(average(group.totalCents(), group.count()))
+                        .count(group.count())
+                        .build())
+                .toList();
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(SalaryAggregatesResponse.builder().groupBy(groupBy).data(groups).links(links).build());
+    }
+
+    private static SalaryColumnFilter toFilter(SalaryAnalyticsRequest request) {
+        return new SalaryColumnFilter(request.getEmployee(), request.getFrom(), request.getTo(),
+                request.getMinSalary(), request.getMaxSalary());
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static BigDecimal average(long totalCents, long count) {
+        return count == 0 ? null : fromCents(totalCents).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
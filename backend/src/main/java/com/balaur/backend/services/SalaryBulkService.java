@@ -0,0 +1,230 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.requests.SalaryBulkEditRequest;
+import com.balaur.backend.requests.SalarySelectionRequest;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.SalaryBulkResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes or edits every selected salary with one data-modifying statement, which also writes the outbox events,
+ * so the relay publishes the whole operation as one run of batched sends. The change log rows are appended from
+ * the changed ids at the end of the transaction. Caches and the employee index are updated once, after the commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryBulkService {
+    private static final String DELETE_SELECTED_SALARIES = """
+            WITH deleted AS (
+                DELETE FROM salaries
+                WHERE %s
+                RETURNING id, employee, salary, salary_date
+            ), changed AS (
+                INSERT INTO changed_salaries (salary_id)
+                SELECT id FROM deleted
+            ), outbox AS (
+                INSERT INTO salary_outbox (salary_id, event_type, payload, created_at)
+                SELECT id, 'DELETED',
+                       json_build_object('eventType', 'DELETED', 'salaryId', id, 'salary', salary, 'employee', employee,
+                                         'salaryDate', to_char(salary_date, 'YYYY-MM-DD"T"HH24:MI:SS.US'))::text,
+                       now()
+                FROM deleted
+                ORDER BY id
+            )
+            SELECT employee, count(*), 0 FROM deleted GROUP BY employee""";
+
+    // Rows are locked in id order, like the single-row update, so concurrent bulk edits can't deadlock each other
+    private static final String UPDATE_SELECTED_SALARIES = """
+            WITH selected AS (
+                SELECT id, employee FROM salaries
+                WHERE %s
+                ORDER BY id
+                FOR UPDATE
+            ), updated AS (
+                UPDATE salaries s
+                SET salary = COALESCE(CAST(? AS NUMERIC(19, 2)), s.salary + COALESCE(CAST(? AS NUMERIC(19, 2)), 0)),
+                    employee = COALESCE(CAST(? AS VARCHAR(255)), s.employee),
+                    salary_date = COALESCE(CAST(? AS TIMESTAMP), s.salary_date),
+                    version = s.version + 1
+                FROM selected
+                WHERE s.id = selected.id
+                RETURNING s.id, s.employee, s.salary, s.salary_date, selected.employee AS previous_employee
+            ), changed AS (
+                INSERT INTO changed_salaries (salary_id)
+                SELECT id FROM updated
+            ), outbox AS (
+                INSERT INTO salary_outbox (salary_id, event_type, payload, created_at)
+                SELECT id, 'UPDATED',
+                       json_build_object('eventType', 'UPDATED', 'salaryId', id, 'salary', salary, 'employee', employee,
+                                         'salaryDate', to_char(salary_date, 'YYYY-MM-DD"T"HH24:MI:SS.US'))::text,
+                       now()
+                FROM updated
+                ORDER BY id
+            )
+            SELECT previous_employee, count(*), count(*) FILTER (WHERE salary <= 0) FROM updated GROUP BY previous_employee""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SalaryCache salaryCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final SalaryChangeLog salaryChangeLog;
+    private final String version = "v1";
+
+    public ResponseEntity<SalaryBulkResponse> deleteSalaries(SalarySelectionRequest selectionRequest) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/bulk-delete", "POST", version));
+        long startNanos = System.nanoTime();
+
+        List<Object> args = new ArrayList<>();
+        String sql = DELETE_SELECTED_SALARIES.formatted(selection(selectionRequest, args));
+
+        BulkResult result;
+        try {
+            result = execute(sql, args, SalaryEventType.DELETED);
+        } catch (Exception e) {
+            log.error("[SalaryBulkService.deleteSalaries] Could not delete salaries: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(SalaryBulkResponse.builder()
+                    .message("Could not delete salaries.")
+                    .links(links)
+                    .build());
+        }
+
+        if (result.rows() > 0) {
+            salaryCache.invalidateAll();
+            employeeSearchIndex.salariesDeleted(result.salariesPerEmployee());
+            salaryChangeLog.publishChanges();
+        }
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("[SalaryBulkService.deleteSalaries] Deleted {} salaries of {} employees in {} ms.",
+                result.rows(), result.salariesPerEmployee().size(), durationMillis);
+        return ResponseEntity.ok(SalaryBulkResponse.builder()
+                .affectedRows(result.rows())
+                .affectedEmployees(result.salariesPerEmployee().size())
+                .durationMillis(durationMillis)
+                .links(links)
+                .build());
+    }
+
+    public ResponseEntity<SalaryBulkResponse> editSalaries(SalaryBulkEditRequest editRequest) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/bulk-edit", "PATCH", version));
+        long startNanos = System.nanoTime();
+
+        List<Object> args = new ArrayList<>();
+        String sql = UPDATE_SELECTED_SALARIES.formatted(selection(editRequest, args));
+        args.add(new SqlParameterValue(Types.NUMERIC, editRequest.getSalary()));
+        args.add(new SqlParameterValue(Types.NUMERIC, editRequest.getSalaryAdjustment()));
+        args.add(new SqlParameterValue(Types.VARCHAR, editRequest.getNewEmployee()));
+        args.add(new SqlParameterValue(Types.TIMESTAMP, editRequest.getSalaryDate()));
+
+        BulkResult result;
+        try {
+            result = execute(sql, args, SalaryEventType.UPDATED);
+        } catch (Exception e) {
+            log.error("[SalaryBulkService.editSalaries] Could not edit salaries: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(SalaryBulkResponse.builder()
+                    .message("Could not edit salaries.")
+                    .links(links)
+                    .build());
+        }
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        if (result.invalidRows() > 0) {
+            log.warn("[SalaryBulkService.editSalaries] Rejected salary adjustment leaving {} salaries at or below zero.",
+                    result.invalidRows());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(SalaryBulkResponse.builder()
+                    .durationMillis(durationMillis)
+                    .message("The adjustment leaves " + result.invalidRows() + " salaries at or below zero, nothing was edited.")
+                    .links(links)
+                    .build());
+        }
+
+        if (result.rows() > 0) {
+            salaryCache.invalidateAll();
+            if (editRequest.getNewEmployee() != null) {
+                employeeSearchIndex.salariesReassigned(result.salariesPerEmployee(), editRequest.getNewEmployee());
+            }
+            salaryChangeLog.publishChanges();
+        }
+
+        log.info("[SalaryBulkService.editSalaries] Edited {} salaries of {} employees in {} ms.",
+                result.rows(), result.salariesPerEmployee().size(), durationMillis);
+        return ResponseEntity.ok(SalaryBulkResponse.builder()
+                .affectedRows(result.rows())
+                .affectedEmployees(result.salariesPerEmployee().size())
+                .durationMillis(durationMillis)
+                .links(links)
+                .build());
+    }
+
+    // Runs a statement returning (employee, salaries, invalid salaries) rows; rolled back if any salary is invalid
+    private BulkResult execute(String sql, List<Object> args, SalaryEventType changeType) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(SalaryChangeLog.CREATE_CHANGED_SALARIES_TABLE);
+
+            Map<String, Long> salariesPerEmployee = new HashMap<>();
+            long[] totals = new long[2];
+            jdbcTemplate.query(sql, rs -> {
+                salariesPerEmployee.put(rs.getString(1), rs.getLong(2));
+                totals[0] += rs.getLong(2);
+                totals[1] += rs.getLong(3);
+            }, args.toArray());
+
+            if (totals[1] > 0) {
+                status.setRollbackOnly();
+            } else if (totals[0] > 0) {
+                // Last, so the change log lock is only held for the commit
+                jdbcTemplate.execute(SalaryChangeLog.LOCK_CHANGE_LOG);
+                jdbcTemplate.update(SalaryChangeLog.APPEND_CHANGED_SALARIES, changeType.name());
+            }
+            return new BulkResult(salariesPerEmployee, totals[0], totals[1]);
+        });
+    }
+
+    // Conditions for the selected salaries, with their parameters appended to args
+    static String selection(SalarySelectionRequest selectionRequest, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (selectionRequest.getIds() != null && !selectionRequest.getIds().isEmpty()) {
+            conditions.add("id = ANY(?)");
+            args.add(selectionRequest.getIds().toArray(Long[]::new));
+        }
+        if (selectionRequest.getEmployee() != null) {
+            conditions.add("employee = ?");
+            args.add(selectionRequest.getEmployee());
+        }
+        if (selectionRequest.getFrom() != null) {
+            conditions.add("salary_date >= ?");
+            args.add(selectionRequest.getFrom());
+        }
+        if (selectionRequest.getTo() != null) {
+            conditions.add("salary_date < ?");
+            args.add(selectionRequest.getTo());
+        }
+
+        // Validation rejects empty selections; this keeps a missed @Valid from touching every row
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Empty salary selection");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private record BulkResult(Map<String, Long> salariesPerEmployee, long rows, long invalidRows) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.SalaryChange;
+import com.balaur.backend.responses.SalaryChangesResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryChangeService {
+    private final SalaryChangeLog salaryChangeLog;
+    private final String version = "v1";
+
+    /**
+     * The strong ETag of the salary list, or null while the dataset version isn't known yet.
+     */
+    public String currentETag() {
+        long currentVersion = salaryChangeLog.currentVersion();
+        return currentVersion < 0 ? null : "\"" + currentVersion + "\"";
+    }
+
+    public ResponseEntity<SalaryChangesResponse> getChanges(long since, int limit) {
+        List<Link> links = new ArrayList<>();
+        links.add(new Link("self", "/api/" + version + "/salaries/changes?since=" + since + "&limit=" + limit, "GET", version));
+
+        SalaryChangeLog.ChangeSet changeSet;
+        try {
+            changeSet = salaryChangeLog.findChanges(since, limit);
+        } catch (Exception e) {
+            log.error("[SalaryChangeService.getChanges] Error retrieving salary changes since {}: {}", since, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(SalaryChangesResponse.builder()
+                    .since(since)
+                    .message("An error occurred.")
+                    .links(links)
+                    .build());
+        }
+
+        if (changeSet == null) {
+            log.info("[SalaryChangeService.getChanges] Changes since version {} are no longer available.", since);
+            links.add(new Link("get", "/api/" + version + "/salaries", "GET", version));
+            return ResponseEntity.status(HttpStatus.GONE).body(SalaryChangesResponse.builder()
+                    .since(since)
+                    .message("Changes since version " + since + " are no longer available, reload the salaries.")
+                    .links(links)
+                    .build());
+        }
+
+        List<SalaryChange> changes = new ArrayList<>(changeSet.changes().size());
+        for (SalaryChangeLog.Change change : changeSet.changes()) {
+            changes.add(SalaryChange.builder()
+                    .version(change.version())
+                    .salaryId(change.salaryId())
+                    .change(change.type().name().toLowerCase(Locale.ROOT))
+                    .salary(change.salary())
+                    .employee(change.employee())
+                    .salaryDate(change.salaryDate())
+                    .build());
+        }
+
+        if (changeSet.hasMore()) {
+            links.add(new Link("next", "/api/" + version + "/salaries/changes?since=" + changeSet.version() + "&limit=" + limit,
+                    "GET", version));
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(SalaryChangesResponse.builder()
+                .since(since)
+                .version(changeSet.version())
+                .hasMore(changeSet.hasMore())
+                .data(changes)
+                .links(links)
+                .build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryExportService {
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final String COPY_SALARIES_TO_CSV =
+            "COPY (SELECT id, employee, salary, salary_date FROM salaries ORDER BY id) TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final SalaryRepository salaryRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every salary to {@code outputStream}, one row at a time, so heap use does not depend on the table size.
+     * The response is flushed every {@value #FLUSH_EVERY_ROWS} rows, which makes the servlet container send it chunked.
+     */
+    @Transactional(readOnly = true)
+    public long exportSalaries(String format, OutputStream outputStream) throws IOException {
+        if (FORMAT_CSV.equals(format)) {
+            return exportSalariesAsCsv(outputStream);
+        }
+
+        boolean jsonArray = FORMAT_JSON.equals(format);
+        long rows = 0;
+        long startNanos = System.nanoTime();
+
+        try (Stream<Salary> salaries = salaryRepository.streamAllOrderedById();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            if (jsonArray) {
+                generator.writeStartArray();
+            } else {
+                // Rows are separated by the newline below only, not by the default " " between root values
+                generator.setRootValueSeparator(null);
+            }
+
+            for (Salary salary : (Iterable<Salary>) salaries::iterator) {
+                writeSalary(generator, salary);
+                if (!jsonArray) {
+                    generator.writeRaw('\n');
+                }
+
+                // Keep the persistence context empty, otherwise it grows by one entity per exported row
+                entityManager.detach(salary);
+
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (jsonArray) {
+                generator.writeEndArray();
+            }
+        }
+
+        log.info("[SalaryExportService.exportSalaries] Exported {} salaries as {} in {} ms.",
+                rows, format, (System.nanoTime() - startNanos) / 1_000_000);
+        return rows;
+    }
+
+    // COPY TO STDOUT writes each row to the stream as the server sends it
+    private long exportSalariesAsCsv(OutputStream outputStream) {
+        long startNanos = System.nanoTime();
+
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(COPY_SALARIES_TO_CSV, outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        long durationMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("[SalaryExportService.exportSalariesAsCsv] Exported {} salaries as csv in {} ms ({} rows/s).",
+                rows, durationMillis, rows * 1000 / durationMillis);
+        return rows;
+    }
+
+    private void writeSalary(JsonGenerator generator, Salary salary) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("salaryId", salary.getId());
+        generator.writeNumberField("salary", salary.getSalary());
+        generator.writeStringField("employee", salary.getEmployee());
+        generator.writeObjectField("salaryDate", salary.getSalaryDate());
+        generator.writeEndObject();
+    }
+}
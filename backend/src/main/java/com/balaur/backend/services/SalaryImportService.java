@@ -0,0 +1,242 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.SalaryImportResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV import through PostgreSQL {@code COPY}. The request body is streamed into a temporary staging table,
+ * validated there with the {@link com.balaur.backend.requests.SalaryRequest} rules and moved into
+ * {@code salaries} with one {@code INSERT ... SELECT} that also writes the outbox events. The whole file is
+ * imported in one transaction, or not at all.
+ * <p>
+ * Expected columns, with a header line: {@code employee,salary,salary_date}. A CSV export
+ * ({@code id,employee,salary,salary_date}) is accepted too; its ids are ignored and the salaries get new ones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryImportService {
+    static final int MAX_REPORTED_ERRORS = 20;
+    static final String EXPORT_HEADER = "id,employee,salary,salary_date";
+
+    private static final int MAX_HEADER_BYTES = 256;
+
+    // Text columns, so malformed values reach the validation query instead of failing the COPY
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE salaries_staging (
+                line BIGSERIAL,
+                source_id TEXT,
+                employee TEXT,
+                salary TEXT,
+                salary_date TEXT
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_INTO_STAGING_TABLE =
+            "COPY salaries_staging (employee, salary, salary_date) FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    private static final String COPY_EXPORT_INTO_STAGING_TABLE =
+            "COPY salaries_staging (source_id, employee, salary, salary_date) FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    // Dates are checked field by field, so the timestamp cast of the insert never sees an impossible one
+    private static final String FIND_INVALID_ROWS = """
+            SELECT line, field FROM (
+                SELECT line,
+                       CASE
+                           WHEN employee IS NULL OR btrim(employee) = '' OR length(employee) > 255 THEN 'employee'
+                           WHEN CASE WHEN salary ~ '^\\s*[0-9]{1,17}(\\.[0-9]+)?\\s*$' THEN salary::numeric(19, 2) <= 0 ELSE true END
+                               THEN 'salary'
+                           WHEN CASE
+                                    WHEN date_parts IS NULL OR date_parts[1]::int = 0 OR date_parts[2]::int NOT BETWEEN 1 AND 12
+                                        OR date_parts[4]::int > 23 OR date_parts[5]::int > 59 OR coalesce(date_parts[6]::int, 0) > 59
+                                        THEN true
+                                    ELSE date_parts[3]::int NOT BETWEEN 1 AND extract(day FROM
+                                            make_date(date_parts[1]::int, date_parts[2]::int, 1) + interval '1 month - 1 day')
+                                END
+                               THEN 'salary_date'
+                       END AS field
+                FROM (
+                    SELECT line, employee, salary,
+                           regexp_match(salary_date,
+                                   '^\\s*([0-9]{4})-([0-9]{2})-([0-9]{2})[T ]([0-9]{2}):([0-9]{2})(?::([0-9]{2})(?:\\.[0-9]{1,6})?)?\\s*$')
+                               AS date_parts
+                    FROM salaries_staging
+                ) staged
+            ) validated
+            WHERE field IS NOT NULL
+            ORDER BY line
+            LIMIT ?""";
+
+    private static final String COUNT_STAGED_SALARIES_BY_EMPLOYEE =
+            "SELECT btrim(employee), count(*) FROM salaries_staging GROUP BY btrim(employee)";
+
+    /*
+     * On a sequence nobody has called yet, nextval returns its initial value 1, whose block would be [-48, 1].
+     * Hibernate's pooled optimizer special-cases that value; here it is taken and thrown away before the import
+     * reserves its blocks, so imported ids always start above 0.
+     */
+    private static final String SKIP_INITIAL_ID_BLOCK =
+            "SELECT nextval('salaries_id_seq') FROM salaries_id_seq WHERE NOT is_called";
+
+    /*
+     * Ids are taken the way Hibernate's pooled optimizer takes them for Salary (allocationSize = 50): one
+     * nextval per 50 rows, each covering [value - 49, value], so imported and JPA-inserted ids never collide.
+     */
+    private static final String INSERT_FROM_STAGING_TABLE = """
+            WITH staged AS (
+                SELECT line,
+                       btrim(employee) AS employee,
+                       btrim(salary)::numeric(19, 2) AS salary,
+                       btrim(salary_date)::timestamp AS salary_date,
+                       row_number() OVER (ORDER BY line) - 1 AS n
+                FROM salaries_staging
+            ), id_blocks AS (
+                SELECT block, nextval('salaries_id_seq') AS hi
+                FROM generate_series(0, (SELECT (count(*) - 1) / 50 FROM salaries_staging)) AS block
+            ), inserted AS (
+                INSERT INTO salaries (id, employee, salary, salary_date)
+                SELECT b.hi - 49 + s.n % 50, s.employee, s.salary, s.salary_date
+                FROM staged s
+                JOIN id_blocks b ON b.block = s.n / 50
+                ORDER BY s.line
+                RETURNING id, employee, salary, salary_date
+            ), changed AS (
+                INSERT INTO changed_salaries (salary_id)
+                SELECT id FROM inserted
+            )
+            INSERT INTO salary_outbox (salary_id, event_type, payload, created_at)
+            SELECT id, 'CREATED',
+                   json_build_object('eventType', 'CREATED', 'salaryId', id, 'salary', salary, 'employee', employee,
+                                     'salaryDate', to_char(salary_date, 'YYYY-MM-DD"T"HH24:MI:SS.US'))::text,
+                   now()
+            FROM inserted
+            ORDER BY id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SalaryCache salaryCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final SalaryChangeLog salaryChangeLog;
+    private final String version = "v1";
+
+    public ResponseEntity<SalaryImportResponse> importSalaries(InputStream csv) {
+        List<Link> links = List.of(new Link("self", "/api/" + version + "/salaries/import", "POST", version));
+        long startNanos = System.nanoTime();
+
+        Map<String, Long> salariesPerEmployee = new HashMap<>();
+        SalaryImportResponse response;
+        try {
+            response = transactionTemplate.execute(status -> {
+                SalaryImportResponse result = jdbcTemplate.execute((ConnectionCallback<SalaryImportResponse>) connection -> {
+                    jdbcTemplate.execute(CREATE_STAGING_TABLE);
+                    long stagedRows;
+                    try {
+                        BufferedInputStream body = new BufferedInputStream(csv);
+                        stagedRows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyIntoStagingTable(body), body);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not read the CSV request body", e);
+                    }
+
+                    List<String> errors = jdbcTemplate.query(FIND_INVALID_ROWS,
+                            (rs, rowNum) -> "row " + rs.getLong("line") + ": " + rs.getString("field"),
+                            MAX_REPORTED_ERRORS);
+                    if (!errors.isEmpty()) {
+                        return SalaryImportResponse.builder().errors(errors).build();
+                    }
+
+                    if (stagedRows > 0) {
+                        jdbcTemplate.execute(SalaryChangeLog.CREATE_CHANGED_SALARIES_TABLE);
+                        jdbcTemplate.queryForList(SKIP_INITIAL_ID_BLOCK);
+                        jdbcTemplate.update(INSERT_FROM_STAGING_TABLE);
+                        jdbcTemplate.query(COUNT_STAGED_SALARIES_BY_EMPLOYEE,
+                                rs -> { salariesPerEmployee.put(rs.getString(1), rs.getLong(2)); });
+
+                        // Last, so other writers only wait for this insert and the commit, not for the whole import
+                        jdbcTemplate.execute(SalaryChangeLog.LOCK_CHANGE_LOG);
+                        jdbcTemplate.update(SalaryChangeLog.APPEND_CHANGED_SALARIES, SalaryEventType.CREATED.name());
+                    }
+                    return SalaryImportResponse.builder().importedRows(stagedRows).build();
+                });
+
+                if (result != null && result.getErrors() != null) {
+                    status.setRollbackOnly();
+                }
+                return result;
+            });
+        } catch (Exception e) {
+            // The root cause is driver or SQL text, which stays in the log
+            log.error("[SalaryImportService.importSalaries] Could not import salaries: {}", rootCauseMessage(e));
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(SalaryImportResponse.builder()
+                    .message("Could not import salaries, check that the file is a valid CSV with the expected columns.")
+                    .links(links)
+                    .build());
+        }
+
+        long durationMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+
+        if (response == null || response.getErrors() != null) {
+            log.warn("[SalaryImportService.importSalaries] Rejected salaries import with invalid rows.");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(SalaryImportResponse.builder()
+                    .durationMillis(durationMillis)
+                    .message("Invalid rows found, nothing was imported.")
+                    .errors(response == null ? List.of() : response.getErrors())
+                    .links(links)
+                    .build());
+        }
+
+        long rows = response.getImportedRows();
+        long rowsPerSecond = rows * 1000 / durationMillis;
+        if (rows > 0) {
+            salaryCache.salariesCreated((int) Math.min(rows, Integer.MAX_VALUE));
+            employeeSearchIndex.salariesCreated(salariesPerEmployee);
+            salaryChangeLog.publishChanges();
+        }
+
+        log.info("[SalaryImportService.importSalaries] Imported {} salaries in {} ms ({} rows/s).", rows, durationMillis, rowsPerSecond);
+        return ResponseEntity.status(HttpStatus.CREATED).body(SalaryImportResponse.builder()
+                .importedRows(rows)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .links(links)
+                .build());
+    }
+
+    // The COPY matching the header line, which is left in the stream
+    private static String copyIntoStagingTable(BufferedInputStream csv) throws IOException {
+        csv.mark(MAX_HEADER_BYTES);
+        byte[] start = csv.readNBytes(MAX_HEADER_BYTES);
+        csv.reset();
+
+        String header = new String(start, StandardCharsets.UTF_8).lines().findFirst().orElse("").strip();
+        return header.equalsIgnoreCase(EXPORT_HEADER) ? COPY_EXPORT_INTO_STAGING_TABLE : COPY_INTO_STAGING_TABLE;
+    }
+
+    private static String rootCauseMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,43 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.responses.EmployeeSearchResponse;
+import com.balaur.backend.responses.EmployeeSuggestion;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalarySearchService {
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final String version = "v1";
+
+    public ResponseEntity<EmployeeSearchResponse> searchEmployees(String query, int limit) {
+        List<Link> links = List.of(new Link("self",
+                "/api/" + version + "/salaries/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8), "GET", version));
+
+        long startNanos = System.nanoTime();
+        List<EmployeeSuggestion> suggestions = employeeSearchIndex.search(query, limit).stream()
+                .map(match -> EmployeeSuggestion.builder()
+                        .employee(match.employee())
+                        .salaryCount(match.salaryCount())
+                        .match(match.type().name().toLowerCase(Locale.ROOT))
+                        .build())
+                .toList();
+        log.debug("[SalarySearchService.searchEmployees] Found {} employees in {} µs.",
+                suggestions.size(), (System.nanoTime() - startNanos) / 1_000);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(EmployeeSearchResponse.builder().query(query).data(suggestions).links(links).build());
+    }
+}
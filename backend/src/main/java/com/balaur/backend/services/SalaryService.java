@@ -1,57 +1,116 @@
 package com.balaur.backend.services;
 
-import com.balaur.backend.kafka.SalaryKafkaProducer;
+import com.balaur.backend.cache.RenderedSalaryPage;
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
 import com.balaur.backend.models.Salary;
 import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.repositories.SalarySpecifications;
+import com.balaur.backend.repositories.SalaryWriteResult;
+import com.balaur.backend.requests.SalaryPageRequest;
 import com.balaur.backend.requests.SalaryRequest;
 import com.balaur.backend.responses.Link;
 import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.PageInfo;
 import com.balaur.backend.responses.SalariesResponseWrapper;
 import com.balaur.backend.responses.SalaryResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SalaryService {
-    // TODO:: Add pagination (page, size, totalElements etc..) to "getSalaries" response
+    public static final int MAX_BATCH_SIZE = 5000;
+    public static final String STAGE_METRIC = "salaries.service.stage";
 
     private final SalaryRepository salaryRepository;
     private final String version = "v1";
-    private final SalaryKafkaProducer salaryKafkaProducer;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final SalaryWriteService salaryWriteService;
+    private final SalaryCache salaryCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
     private final ObjectMapper objectMapper;
+    private final SalaryChangeLog salaryChangeLog;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
 
-    private final String SALARY_CACHE_KEY = "salaries";
-    private static final Duration CACHE_TTL = Duration.ofMinutes(30);
+    public ResponseEntity<SalariesResponseWrapper> getSalaries(SalaryPageRequest pageRequest) {
+        List<Link> mainLinks = new ArrayList<>();
+        mainLinks.add(new Link("self", "/api/" + version + "/salaries", "GET", version));
 
-    public ResponseEntity<SalariesResponseWrapper> getSalaries() {
-        SalariesResponseWrapper salariesResponseWrapper = getSalariesResponseFromRedisCache();
+        SalariesResponseWrapper salariesResponseWrapper = timed("list", "cache",
+                () -> salaryCache.getPage(pageRequest, () -> getSalariesResponseFromDB(pageRequest, mainLinks)));
         if (salariesResponseWrapper != null) {
-            return ResponseEntity.status(HttpStatus.OK).body(salariesResponseWrapper);
+            return ResponseEntity.status(HttpStatus.OK).body(
+                    timed("list", "links", () -> renderLinks(salariesResponseWrapper, pageRequest.getLinks())));
         }
 
-        List<Link> mainLinks = List.of(new Link("self", "/api/" + version + "/salaries", "GET", version));
-        salariesResponseWrapper = getSalariesResponseFromDB(mainLinks);
-        if (salariesResponseWrapper != null) {
-            saveSalariesResponseToRedisCache(salariesResponseWrapper);
-            return ResponseEntity.status(HttpStatus.OK).body(salariesResponseWrapper);
+        if (pageRequest.getAfter() != null || pageRequest.hasFilters()) {
+            // Past the last page, or nothing matches the filters: an empty page, not a missing resource
+            PageInfo pageInfo = buildPageInfo(pageRequest, null, null);
+            return ResponseEntity.status(HttpStatus.OK).body(timed("list", "links",
+                    () -> renderLinks(new SalariesResponseWrapper(List.of(), mainLinks, pageInfo), pageRequest.getLinks())));
         }
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(getSalariesResponseForEmptyList(mainLinks));
     }
 
+    public boolean isRenderedPageCacheEnabled() {
+        return salaryCache.isRenderedPagesEnabled();
+    }
+
+    /**
+     * Same response as {@link #getSalaries(SalaryPageRequest)}, served from the page already rendered to JSON
+     * (and gzip, when {@code gzip} is set and the page is large enough to have a compressed copy).
+     */
+    public ResponseEntity<byte[]> getRenderedSalaries(SalaryPageRequest pageRequest, boolean gzip) {
+        String renderKey = pageRequest.getCacheKey() + ":" + pageRequest.getLinks();
+        RenderedSalaryPage page = salaryCache.getRenderedPage(renderKey, () -> renderSalaries(pageRequest));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(page.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip && page.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+
+        return response.body(page.json());
+    }
+
+    private RenderedSalaryPage renderSalaries(SalaryPageRequest pageRequest) {
+        ResponseEntity<SalariesResponseWrapper> response = getSalaries(pageRequest);
+
+        try {
+            RenderedSalaryPage page = RenderedSalaryPage.of(response.getStatusCode(), objectMapper.writeValueAsBytes(response.getBody()));
+            log.info("[SalaryService.renderSalaries] Rendered page {} to {} bytes.", pageRequest.getCacheKey(), page.sizeBytes());
+            return page;
+        } catch (JsonProcessingException e) {
+            log.error("[SalaryService.renderSalaries] Error rendering salaries page: {}", e.getMessage());
+            throw new RuntimeException("Error rendering salaries", e);
+        }
+    }
+
     private SalariesResponseWrapper getSalariesResponseForEmptyList(List<Link> mainLinks) {
         List<SalaryResponse> salariesResponses = new ArrayList<>();
         salariesResponses.add(SalaryResponse.builder()
@@ -68,90 +127,254 @@ public class SalaryService {
         return new SalariesResponseWrapper(salariesResponses, mainLinks);
     }
 
-    private void saveSalariesResponseToRedisCache(SalariesResponseWrapper salariesResponseWrapper) {
-        log.info("[SalaryService.saveSalariesResponseToRedisCache] Saving response to redis cache: {}", salariesResponseWrapper.toString());
-        redisTemplate.opsForValue().set(SALARY_CACHE_KEY, salariesResponseWrapper, CACHE_TTL);
-    }
+    private SalariesResponseWrapper getSalariesResponseFromDB(SalaryPageRequest pageRequest, List<Link> mainLinks) {
+        List<Salary> salariesList;
 
-    private SalariesResponseWrapper getSalariesResponseFromRedisCache() {
-        log.info("[SalaryService.getSalariesResponseFromRedisCache] Attempting to retrieve data from redis cache.");
+        try {
+            // One extra row tells whether a next page exists without a count query
+            salariesList = timed("list", "db", () -> findSalariesPage(pageRequest, pageRequest.getSize() + 1));
+        } catch (Exception e) {
+            log.error("[SalaryService.getSalariesResponseFromDB] Error retrieving salaries: {}", e.getMessage());
+            throw new RuntimeException("Error retrieving salaries", e);
+        }
 
-        if (redisTemplate.hasKey(SALARY_CACHE_KEY) == null) {
-            log.info("[SalaryService.getSalariesResponseFromRedisCache] No data found in redis cache.");
+        if (salariesList.isEmpty()) {
+            log.info("[SalaryService.getSalariesResponseFromDB] No data found in database.");
             return null;
         }
 
-        try {
-            Object cachedValue = redisTemplate.opsForValue().get(SALARY_CACHE_KEY);
+        Long nextCursor = null;
+        LocalDateTime nextCursorDate = null;
+        if (salariesList.size() > pageRequest.getSize()) {
+            salariesList = salariesList.subList(0, pageRequest.getSize());
+            nextCursor = salariesList.getLast().getId();
+            nextCursorDate = pageRequest.isSortedBySalaryDate() ? salariesList.getLast().getSalaryDate() : null;
+            mainLinks.add(LinkUtils.generateNextLink(version, nextCursor, nextCursorDate, pageRequest.getSize(),
+                    pageRequest.getSort(), pageRequest.getFilterQuery()));
+        }
+
+        log.info("[SalaryService.getSalariesResponseFromDB] Data found in database. Beginning building the response.");
+        PageInfo pageInfo = buildPageInfo(pageRequest, nextCursor, nextCursorDate);
+        List<Salary> pageSalaries = salariesList;
+        return timed("list", "build", () -> buildSalariesResponseWrapper(pageSalaries, mainLinks, pageInfo, false));
+    }
 
-            if (cachedValue == null) {
-                log.info("[SalaryService.getSalariesResponseFromRedisCache] No data found in redis cache.");
-                return null;
+    /**
+     * Cached pages hold rows without links, so every links mode shares them; the links are added per response.
+     * Full mode gives each row its links, compact adds the row links once to the page as {@code {id}} templates.
+     */
+    private SalariesResponseWrapper renderLinks(SalariesResponseWrapper page, String linksMode) {
+        boolean full = SalaryPageRequest.LINKS_FULL.equals(linksMode);
+
+        List<SalaryResponse> data = page.getData();
+        if (full || data.stream().anyMatch(row -> row.getLinks() != null)) {
+            data = new ArrayList<>(page.getData().size());
+            for (SalaryResponse row : page.getData()) {
+                data.add(buildSalaryRow(row, full ? LinkUtils.generateLinks("get", version, String.valueOf(row.getSalaryId())) : null));
             }
+        }
 
-            log.info("[SalaryService.getSalariesResponseFromRedisCache] Data found in redis cache. Beginning deserialization. {}", cachedValue);
-            return objectMapper.convertValue(cachedValue, SalariesResponseWrapper.class);
-        } catch (Exception e) {
-            log.error("[SalaryService.getSalariesResponseFromRedisCache] Error deserializing cache data: ", e);
-            return null;
+        if (full) {
+            return new SalariesResponseWrapper(data, page.getLinks(), page.getPage());
+        }
+
+        List<Link> mainLinks = new ArrayList<>(page.getLinks().size() + 2);
+        for (Link link : page.getLinks()) {
+            // The cached next link is the same for every mode, the client keeps the one it asked for
+            mainLinks.add(link.getRel().equals("next")
+                    ? new Link(link.getRel(), link.getHref() + "&links=" + linksMode, link.getMethod(), link.getVersion())
+                    : link);
+        }
+        if (SalaryPageRequest.LINKS_COMPACT.equals(linksMode)) {
+            mainLinks.addAll(LinkUtils.generateLinkTemplates(version));
         }
+
+        return new SalariesResponseWrapper(data, mainLinks, page.getPage());
     }
 
-    private SalariesResponseWrapper getSalariesResponseFromDB(List<Link> mainLinks) {
-        List<Salary> salariesList;
+    /**
+     * Up to {@code limit} salaries after the request's cursor, in its sort order and matching its filters, read
+     * straight from the database: nothing goes through or into the page cache.
+     */
+    public List<Salary> findSalariesPage(SalaryPageRequest pageRequest, int limit) {
+        Long after = pageRequest.getAfter();
 
-        try {
-            salariesList = salaryRepository.findAll();
-        } catch (Exception e) {
-            log.error("[SalaryService.getSalariesResponseFromDB] Error retrieving salaries: {}", e.getMessage());
-            throw new RuntimeException("Error retrieving salaries", e);
+        if (pageRequest.hasFilters()) {
+            return findFilteredSalariesPage(pageRequest, limit);
         }
 
-        if (salariesList.isEmpty()) {
-            log.info("[SalaryService.getSalariesResponseFromDB] No data found in database.");
-            return null;
+        if (pageRequest.isSortedBySalaryDate()) {
+            if (after == null) {
+                return salaryRepository.findFirstPageBySalaryDate(limit);
+            }
+
+            LocalDateTime afterDate = cursorSalaryDate(pageRequest);
+            return afterDate == null ? List.of() : salaryRepository.findPageAfterBySalaryDate(afterDate, after, limit);
         }
 
-        log.info("[SalaryService.getSalariesResponseFromDB] Data found in database. Beginning building the response.");
-        return buildSalariesResponseWrapper(salariesList, mainLinks);
+        return salaryRepository.findPageAfterId(after == null ? 0L : after, limit);
     }
 
-    private SalariesResponseWrapper buildSalariesResponseWrapper(List<Salary> salariesList, List<Link> mainLinks) {
-        List<SalaryResponse> salariesResponses = new ArrayList<>();
+    private List<Salary> findFilteredSalariesPage(SalaryPageRequest pageRequest, int limit) {
+        Long after = pageRequest.getAfter();
+        Specification<Salary> specification = SalarySpecifications.matches(pageRequest);
+
+        if (pageRequest.isSortedBySalaryDate()) {
+            specification = specification.and(SalarySpecifications.hasSalaryDate());
+            if (after != null) {
+                LocalDateTime afterDate = cursorSalaryDate(pageRequest);
+                if (afterDate == null) {
+                    return List.of();
+                }
+                specification = specification.and(SalarySpecifications.salaryDateAfter(afterDate, after));
+            }
 
-        for (Salary salary : salariesList) {
-            salariesResponses.add(
-                    SalaryResponse.builder()
-                            .salaryId(salary.getId())
-                            .salary(salary.getSalary())
-                            .salaryDate(salary.getSalaryDate())
-                            .employee(salary.getEmployee())
-                            .message(null)
-                            .links(LinkUtils.generateLinks("get", version, String.valueOf(salary.getId())))
-                            .build()
-            );
+            return salaryRepository.findBy(specification,
+                    query -> query.sortBy(Sort.by("salaryDate", "id")).limit(limit).all());
         }
 
-        return new SalariesResponseWrapper(salariesResponses, mainLinks);
+        if (after != null) {
+            specification = specification.and(SalarySpecifications.idAfter(after));
+        }
+
+        return salaryRepository.findBy(specification, query -> query.sortBy(Sort.by("id")).limit(limit).all());
     }
 
-    public ResponseEntity<SalaryResponse> addSalary(SalaryRequest salaryRequest) {
-        Salary newSalary = new Salary();
-        return getSalaryResponseEntity(salaryRequest, newSalary);
+    /**
+     * The salary date half of a salaryDate cursor. Links without {@code afterDate} were handed out before the
+     * cursor carried it; those are resolved through the cursor row, and end the listing if it is gone.
+     */
+    private LocalDateTime cursorSalaryDate(SalaryPageRequest pageRequest) {
+        if (pageRequest.getAfterDate() != null) {
+            return pageRequest.getAfterDate();
+        }
+
+        return salaryRepository.findById(pageRequest.getAfter()).map(Salary::getSalaryDate).orElse(null);
     }
 
-    private SalaryResponse buildSalaryResponse(Salary salary, String method) {
-        log.info("[SalaryService.buildSalaryResponse] Salary object built.");
+    private PageInfo buildPageInfo(SalaryPageRequest pageRequest, Long nextCursor, LocalDateTime nextCursorDate) {
+        return PageInfo.builder()
+                .size(pageRequest.getSize())
+                .sort(pageRequest.getSort())
+                .after(pageRequest.getAfter())
+                .afterDate(pageRequest.isSortedBySalaryDate() ? pageRequest.getAfterDate() : null)
+                .nextCursor(nextCursor)
+                .nextCursorDate(nextCursorDate)
+                .totalElements(pageRequest.hasFilters()
+                        ? PageInfo.UNKNOWN_TOTAL
+                        : timed("list", "count", salaryRepository::estimateCount))
+                .build();
+    }
+
+    /**
+     * Runs one stage of an operation under the {@value #STAGE_METRIC} timer. Stages can nest: on a cache miss the
+     * list "cache" stage includes the "db", "count" and "build" stages of the page it loads.
+     */
+    private <T> T timed(String operation, String stage, Supplier<T> step) {
+        return stageTimers.computeIfAbsent(operation + ":" + stage, key -> Timer.builder(STAGE_METRIC)
+                        .description("Time spent in each stage of the salary operations")
+                        .tag("operation", operation)
+                        .tag("stage", stage)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(step);
+    }
+
+    private void timed(String operation, String stage, Runnable step) {
+        timed(operation, stage, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    // Package-private for SalaryResponseBenchmark
+    SalariesResponseWrapper buildSalariesResponseWrapper(List<Salary> salariesList, List<Link> mainLinks, PageInfo pageInfo,
+                                                         boolean withLinks) {
+        List<SalaryResponse> salariesResponses = new ArrayList<>(salariesList.size());
+
+        for (Salary salary : salariesList) {
+            salariesResponses.add(buildSalaryRow(salary,
+                    withLinks ? LinkUtils.generateLinks("get", version, String.valueOf(salary.getId())) : null));
+        }
+
+        return new SalariesResponseWrapper(salariesResponses, mainLinks, pageInfo);
+    }
+
+    private SalaryResponse buildSalaryRow(Salary salary, List<Link> links) {
         return SalaryResponse.builder()
                 .salaryId(salary.getId())
                 .salary(salary.getSalary())
                 .salaryDate(salary.getSalaryDate())
                 .employee(salary.getEmployee())
                 .message(null)
-                .links(LinkUtils.generateLinks(method, version, String.valueOf(salary.getId())))
+                .version(salary.getVersion())
+                .links(links)
                 .build();
     }
 
+    private SalaryResponse buildSalaryRow(SalaryResponse row, List<Link> links) {
+        return SalaryResponse.builder()
+                .salaryId(row.getSalaryId())
+                .salary(row.getSalary())
+                .salaryDate(row.getSalaryDate())
+                .employee(row.getEmployee())
+                .message(row.getMessage())
+                .version(row.getVersion())
+                .links(links)
+                .build();
+    }
+
+    public ResponseEntity<SalaryResponse> addSalary(SalaryRequest salaryRequest) {
+        Salary newSalary = new Salary();
+        newSalary.setSalary(salaryRequest.getSalary());
+        newSalary.setSalaryDate(salaryRequest.getSalaryDate());
+        newSalary.setEmployee(salaryRequest.getEmployee());
+
+        try {
+            log.info("[SalaryService.addSalary] Trying to save salary.");
+            Salary savedSalary = timed("save", "db", () -> salaryWriteService.saveSalary(newSalary));
+
+            timed("save", "cache", () -> salaryCache.salarySaved(buildSalaryRow(savedSalary, null), null, true, true));
+            timed("save", "search-index", () -> employeeSearchIndex.salarySaved(savedSalary.getEmployee(), null, true));
+            timed("save", "changes", salaryChangeLog::publishChanges);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(versionTag(savedSalary.getVersion()))
+                    .body(buildSalaryResponse(savedSalary, "add"));
+        } catch (Exception e) {
+            log.error("[SalaryService.addSalary] Something happened while trying to save salary");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(buildSalaryErrorResponse(-1L, "add", "POST"));
+        }
+    }
+
+    public ResponseEntity<SalariesResponseWrapper> addSalaries(List<SalaryRequest> salaryRequests) {
+        List<Link> mainLinks = List.of(new Link("self", "/api/" + version + "/salaries/batch", "POST", version));
+        List<Salary> newSalaries = new ArrayList<>(salaryRequests.size());
+        for (SalaryRequest salaryRequest : salaryRequests) {
+            newSalaries.add(new Salary(null, salaryRequest.getSalary(), salaryRequest.getEmployee(), salaryRequest.getSalaryDate(), null));
+        }
+
+        List<Salary> savedSalaries;
+        try {
+            log.info("[SalaryService.addSalaries] Trying to save {} salaries.", newSalaries.size());
+            savedSalaries = salaryWriteService.createSalaries(newSalaries);
+        } catch (Exception e) {
+            log.error("[SalaryService.addSalaries] Something happened while trying to save {} salaries: {}", newSalaries.size(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    new SalariesResponseWrapper(List.of(buildSalaryErrorResponse(-1L, "add", "POST")), mainLinks)
+            );
+        }
+
+        salaryCache.salariesCreated(savedSalaries.size());
+        employeeSearchIndex.salariesCreated(savedSalaries.stream()
+                .collect(Collectors.groupingBy(Salary::getEmployee, Collectors.counting())));
+        salaryChangeLog.publishChanges();
+        return ResponseEntity.status(HttpStatus.CREATED).body(buildSalariesResponseWrapper(savedSalaries, mainLinks, null, true));
+    }
+
+    private SalaryResponse buildSalaryResponse(Salary salary, String method) {
+        log.info("[SalaryService.buildSalaryResponse] Salary object built.");
+        return buildSalaryRow(salary, LinkUtils.generateLinks(method, version, String.valueOf(salary.getId())));
+    }
+
     private SalaryResponse buildSalaryErrorResponse(Long id, String rel, String method) {
         log.warn("[SalaryService.buildSalaryResponse] Salary is null.");
         return SalaryResponse.builder()
@@ -164,97 +387,81 @@ public class SalaryService {
                 .build();
     }
 
-    public ResponseEntity<SalaryResponse> editSalary(Long id, @Valid SalaryRequest salaryRequest) {
-        Optional<Salary> salaryOptional;
+    /**
+     * Edits the salary with one UPDATE ... RETURNING. With {@code expectedVersion} set (from If-Match) the edit only
+     * applies to that version and answers 409 Conflict otherwise.
+     */
+    public ResponseEntity<SalaryResponse> editSalary(Long id, @Valid SalaryRequest salaryRequest, Long expectedVersion) {
+        Optional<SalaryWriteResult> updated;
         try {
             log.info("[SalaryService.editSalary] Trying to edit salary by id: {}.", id);
-            salaryOptional = salaryRepository.findById(id);
+            updated = timed("save", "db", () -> salaryWriteService.updateSalary(id, salaryRequest, expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[SalaryService.editSalary] Salary {} is no longer at version {}.", id, expectedVersion);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(buildSalaryErrorResponse(id, "edit", "PATCH"));
         } catch (Exception e) {
-            log.error("[SalaryService.editSalary] Something happened while trying to find salary by id: {}", id);
+            log.error("[SalaryService.editSalary] Something happened while trying to edit salary by id: {}", id);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(buildSalaryErrorResponse(id, "edit", "PATCH"));
         }
 
-        if (salaryOptional.isEmpty()) {
+        if (updated.isEmpty()) {
             log.warn("[SalaryService.editSalary] Could not find salary by id: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildSalaryErrorResponse(id, "edit", "PATCH"));
         }
 
-        Salary salaryToEdit = salaryOptional.get();
-        return getSalaryResponseEntity(salaryRequest, salaryToEdit);
+        Salary savedSalary = updated.get().toSalary();
+        boolean salaryDateChanged = !Objects.equals(updated.get().getPreviousSalaryDate(), savedSalary.getSalaryDate());
+        String previousEmployee = updated.get().getPreviousEmployee();
+        timed("save", "cache", () -> salaryCache.salarySaved(buildSalaryRow(savedSalary, null), previousEmployee,
+                false, salaryDateChanged));
+        timed("save", "search-index", () -> employeeSearchIndex.salarySaved(savedSalary.getEmployee(),
+                previousEmployee, false));
+        timed("save", "changes", salaryChangeLog::publishChanges);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(versionTag(savedSalary.getVersion()))
+                .body(buildSalaryResponse(savedSalary, "add"));
     }
 
-    public ResponseEntity<SalaryResponse> getSalaryResponseEntity(@Valid SalaryRequest salaryRequest, Salary salaryToEdit) {
-        salaryToEdit.setSalary(salaryRequest.getSalary());
-        salaryToEdit.setSalaryDate(salaryRequest.getSalaryDate());
-        salaryToEdit.setEmployee(salaryRequest.getEmployee());
-
-        try {
-            log.info("[SalaryService.getSalaryResponseEntity] Trying to save salary.");
-            Salary savedSalary = salaryRepository.save(salaryToEdit);
-
-            salaryKafkaProducer.sendSalaryMessage(savedSalary);
-            clearSalariesCache();
-            return ResponseEntity.status(HttpStatus.CREATED).body(buildSalaryResponse(savedSalary, "add"));
-        } catch (Exception e) {
-            log.error("[SalaryService.getSalaryResponseEntity] Something happened while trying to save salary");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(buildSalaryErrorResponse(-1L, "add", "POST"));
-        }
-    }
-
-    public ResponseEntity<SalariesResponseWrapper> deleteSalary(Long id) {
-        Optional<Salary> salaryOptional;
+    /**
+     * Deletes the salary with one DELETE ... RETURNING; {@code expectedVersion} works as in
+     * {@link #editSalary(Long, SalaryRequest, Long)}.
+     */
+    public ResponseEntity<SalariesResponseWrapper> deleteSalary(Long id, Long expectedVersion) {
         List<Link> mainLinks = List.of(new Link("self", "/salaries/delete/" + id, "DELETE", version));
 
+        Optional<SalaryWriteResult> deleted;
         try {
-            log.info("[SalaryService.deleteSalary] Trying to find salary by id: {}", id);
-            salaryOptional = salaryRepository.findById(id);
+            log.info("[SalaryService.deleteSalary] Trying to delete salary by id: {}.", id);
+            deleted = timed("delete", "db", () -> salaryWriteService.deleteSalary(id, expectedVersion));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("[SalaryService.deleteSalary] Salary {} is no longer at version {}.", id, expectedVersion);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                    new SalariesResponseWrapper(List.of(buildSalaryErrorResponse(id, "delete", "DELETE")), mainLinks)
+            );
         } catch (Exception e) {
-            log.error("[SalaryService.deleteSalary] Something happened while trying to find salary: {}", id);
+            log.error("[SalaryService.deleteSalary] Something happened while trying to delete salary by id: {}.", id);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
                     new SalariesResponseWrapper(List.of(buildSalaryErrorResponse(id, "delete", "DELETE")), mainLinks)
             );
         }
 
-        if (salaryOptional.isEmpty()) {
+        if (deleted.isEmpty()) {
             log.warn("[SalaryService.deleteSalary] Could not find salary by id: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
                     new SalariesResponseWrapper(List.of(buildSalaryErrorResponse(id, "delete", "DELETE")), mainLinks)
             );
         }
 
-        SalaryResponse salaryResponse = buildSalaryResponse(salaryOptional.get(), "delete");
-        try {
-            log.info("[SalaryService.deleteSalary] Trying to delete salary by id: {}.", id);
-            salaryRepository.delete(salaryOptional.get());
-
-            clearSalariesCache();
-            return ResponseEntity.status(HttpStatus.OK).body(
-                    new SalariesResponseWrapper(List.of(salaryResponse), mainLinks)
-            );
-        } catch (Exception e) {
-            log.error("[SalaryService.deleteSalary] Something happened while trying to delete salary by id: {}.", id);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                    new SalariesResponseWrapper(List.of(buildSalaryErrorResponse(id, "delete", "DELETE")), mainLinks)
-            );
-        }
-    }
-
-    private void clearSalariesCache() {
-        try {
-            redisTemplate.delete(SALARY_CACHE_KEY);
-            log.info("[SalaryService.clearSalariesCache] Successfully cleared salaries cache");
-        } catch (Exception e) {
-            log.error("[SalaryService.clearSalariesCache] Error clearing salaries cache: {}", e.getMessage());
-        }
+        Salary deletedSalary = deleted.get().toSalary();
+        timed("delete", "cache", () -> salaryCache.salaryDeleted(id, deletedSalary.getEmployee()));
+        timed("delete", "search-index", () -> employeeSearchIndex.salaryDeleted(deletedSalary.getEmployee()));
+        timed("delete", "changes", salaryChangeLog::publishChanges);
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new SalariesResponseWrapper(List.of(buildSalaryResponse(deletedSalary, "delete")), mainLinks)
+        );
     }
 
-    public void refreshSalariesCache() {
-        try {
-            List<Salary> salaries = salaryRepository.findAll();
-            redisTemplate.opsForValue().set(SALARY_CACHE_KEY, salaries, CACHE_TTL);
-            log.info("[SalaryService.refreshSalariesCache] Successfully refreshed salaries cache");
-        } catch (Exception e) {
-            log.error("[SalaryService.refreshSalariesCache] Error refreshing salaries cache: {}", e.getMessage());
-        }
+    // Strong entity tag of a salary version, as compared with If-Match
+    private static String versionTag(Long salaryVersion) {
+        return "\"" + salaryVersion + "\"";
     }
 }
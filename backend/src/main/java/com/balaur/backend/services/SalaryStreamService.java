@@ -0,0 +1,107 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.ReactiveSalaryCache;
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.requests.SalaryPageRequest;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.SalaryResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Reactive reads behind /api/v2/salaries. Streamed salaries are read with blocking JPA keyset queries on the bounded
+ * elastic scheduler, bypassing the page cache so a full stream can't push the hot pages out of it; the Redis lookups
+ * of single salaries don't block at all. Row links point at the v1 endpoints, which own every write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryStreamService {
+    private final SalaryService salaryService;
+    private final SalaryRepository salaryRepository;
+    private final ReactiveSalaryCache reactiveSalaryCache;
+    private final String version = "v1";
+    private final String streamVersion = "v2";
+
+    /**
+     * Every salary matching the request's filters, in its sort order, from the request's cursor on. Pages of
+     * {@code size} rows are loaded only as the subscriber asks for more rows, so a slow client holds at most
+     * about two pages in memory.
+     */
+    public Flux<SalaryResponse> streamSalaries(SalaryPageRequest pageRequest) {
+        boolean rowLinks = SalaryPageRequest.LINKS_FULL.equals(pageRequest.getLinks());
+        return getPage(pageRequest)
+                // A short page is the last one
+                .expand(page -> page.size() < pageRequest.getSize()
+                        ? Mono.empty()
+                        : getPage(pageRequest.withAfter(page.getLast().getId(),
+                                pageRequest.isSortedBySalaryDate() ? page.getLast().getSalaryDate() : null)))
+                .concatMapIterable(page -> page, 1)
+                .map(salary -> rowLinks ? withLinks(buildSalaryRow(salary)) : buildSalaryRow(salary))
+                .doOnError(e -> log.error("[SalaryStreamService.streamSalaries] Error streaming salaries: {}", e.getMessage()));
+    }
+
+    private Mono<List<Salary>> getPage(SalaryPageRequest pageRequest) {
+        return Mono.fromCallable(() -> salaryService.findSalariesPage(pageRequest, pageRequest.getSize()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<ResponseEntity<SalaryResponse>> getSalary(Long id) {
+        return reactiveSalaryCache.getSalary(id)
+                .switchIfEmpty(Mono.fromCallable(() -> salaryRepository.findById(id))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(Mono::justOrEmpty)
+                        .map(this::buildSalaryRow))
+                .map(salary -> ResponseEntity.status(HttpStatus.OK).body(withLinks(salary)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(buildSalaryErrorResponse(id, "Salary not found.")))
+                .onErrorResume(e -> {
+                    log.error("[SalaryStreamService.getSalary] Error retrieving salary by id {}: {}", id, e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(buildSalaryErrorResponse(id, "An error occurred.")));
+                });
+    }
+
+    private SalaryResponse buildSalaryRow(Salary salary) {
+        return SalaryResponse.builder()
+                .salaryId(salary.getId())
+                .salary(salary.getSalary())
+                .salaryDate(salary.getSalaryDate())
+                .employee(salary.getEmployee())
+                .version(salary.getVersion())
+                .build();
+    }
+
+    private SalaryResponse withLinks(SalaryResponse salary) {
+        return SalaryResponse.builder()
+                .salaryId(salary.getSalaryId())
+                .salary(salary.getSalary())
+                .salaryDate(salary.getSalaryDate())
+                .employee(salary.getEmployee())
+                .message(salary.getMessage())
+                .version(salary.getVersion())
+                .links(LinkUtils.generateLinks("get", version, String.valueOf(salary.getSalaryId())))
+                .build();
+    }
+
+    private SalaryResponse buildSalaryErrorResponse(Long id, String message) {
+        return SalaryResponse.builder()
+                .salaryId(-1L)
+                .salary(BigDecimal.valueOf(0))
+                .salaryDate(null)
+                .employee("-")
+                .message(message)
+                .links(List.of(new Link("self", "/api/" + streamVersion + "/salaries/" + id, "GET", streamVersion)))
+                .build();
+    }
+}
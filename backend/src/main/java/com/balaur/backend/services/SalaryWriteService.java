@@ -0,0 +1,109 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.kafka.SalaryEventOutbox;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.repositories.SalaryWriteResult;
+import com.balaur.backend.requests.SalaryRequest;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Salary writes together with their outbox events and change log entries, each in one transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalaryWriteService {
+    // Matches hibernate.jdbc.batch_size and the id allocation size of Salary
+    static final int INSERT_CHUNK_SIZE = 50;
+
+    private final SalaryRepository salaryRepository;
+    private final SalaryEventOutbox salaryEventOutbox;
+    private final SalaryChangeLog salaryChangeLog;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public Salary saveSalary(Salary salary) {
+        SalaryEventType eventType = salary.getId() == null ? SalaryEventType.CREATED : SalaryEventType.UPDATED;
+
+        // Flush first: the row lock orders concurrent writes of one salary before their outbox ids are assigned
+        Salary savedSalary = salaryRepository.saveAndFlush(salary);
+        salaryEventOutbox.append(eventType, savedSalary);
+        salaryChangeLog.append(eventType, List.of(savedSalary.getId()));
+        return savedSalary;
+    }
+
+    /**
+     * Inserts new salaries in JDBC batches of {@value #INSERT_CHUNK_SIZE}, and their outbox events in bulk.
+     * The persistence context is cleared after every chunk, so memory use doesn't grow with the batch.
+     */
+    @Transactional
+    public List<Salary> createSalaries(List<Salary> salaries) {
+        List<Salary> savedSalaries = new ArrayList<>(salaries.size());
+
+        for (int from = 0; from < salaries.size(); from += INSERT_CHUNK_SIZE) {
+            List<Salary> chunk = salaries.subList(from, Math.min(from + INSERT_CHUNK_SIZE, salaries.size()));
+            List<Salary> savedChunk = salaryRepository.saveAll(chunk);
+            salaryRepository.flush();
+            entityManager.clear();
+
+            salaryEventOutbox.appendAll(SalaryEventType.CREATED, savedChunk);
+            savedSalaries.addAll(savedChunk);
+        }
+
+        // Last, so the change log lock is only held for the commit
+        salaryChangeLog.append(SalaryEventType.CREATED, savedSalaries.stream().map(Salary::getId).toList());
+        return savedSalaries;
+    }
+
+    /**
+     * Applies the request to salary {@code id} with one UPDATE ... RETURNING. Empty if there is no such salary;
+     * throws {@link OptimisticLockingFailureException} if {@code expectedVersion} is set and the salary has another.
+     */
+    @Transactional
+    public Optional<SalaryWriteResult> updateSalary(Long id, SalaryRequest salaryRequest, Long expectedVersion) {
+        Optional<SalaryWriteResult> updated = salaryRepository.updateReturning(id, salaryRequest.getSalary(),
+                salaryRequest.getEmployee(), salaryRequest.getSalaryDate(), expectedVersion);
+        if (updated.isEmpty()) {
+            return missingOrConflict(id, expectedVersion);
+        }
+
+        salaryEventOutbox.append(SalaryEventType.UPDATED, updated.get().toSalary());
+        salaryChangeLog.append(SalaryEventType.UPDATED, List.of(id));
+        return updated;
+    }
+
+    /**
+     * Deletes salary {@code id} with one DELETE ... RETURNING, with the same results as
+     * {@link #updateSalary(Long, SalaryRequest, Long)}.
+     */
+    @Transactional
+    public Optional<SalaryWriteResult> deleteSalary(Long id, Long expectedVersion) {
+        Optional<SalaryWriteResult> deleted = salaryRepository.deleteReturning(id, expectedVersion);
+        if (deleted.isEmpty()) {
+            return missingOrConflict(id, expectedVersion);
+        }
+
+        salaryEventOutbox.append(SalaryEventType.DELETED, deleted.get().toSalary());
+        salaryChangeLog.append(SalaryEventType.DELETED, List.of(id));
+        return deleted;
+    }
+
+    // Only writes that matched no row pay for this second query
+    private Optional<SalaryWriteResult> missingOrConflict(Long id, Long expectedVersion) {
+        if (expectedVersion != null && salaryRepository.findById(id).isPresent()) {
+            throw new OptimisticLockingFailureException("Salary " + id + " is no longer at version " + expectedVersion);
+        }
+
+        return Optional.empty();
+    }
+}
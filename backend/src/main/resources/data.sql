@@ -4,4 +4,75 @@ CREATE TABLE IF NOT EXISTS salaries (
     salary NUMERIC(19, 2),          -- Numeric type with precision for decimal values
     employee VARCHAR(255) NOT NULL, -- Employee name or identifier
     salary_date TIMESTAMP           -- Date and time of the salary
-);
\ No newline at end of file
+);
+
+-- Optimistic locking: edits and deletes with If-Match only apply to this version (Salary.version)
+ALTER TABLE salaries ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Matches the pooled id allocation of the Salary entity (allocationSize = 50)
+ALTER SEQUENCE salaries_id_seq INCREMENT BY 50;
+
+-- Keyset pagination ordered by salary date (GET /api/v1/salaries?sort=salaryDate)
+CREATE INDEX IF NOT EXISTS idx_salaries_salary_date_id ON salaries (salary_date, id);
+
+-- Filtered pages for one employee (GET /api/v1/salaries?employee=...): both sort orders read only that
+-- employee's rows, in order, and a from/to range narrows the salary date index scan
+CREATE INDEX IF NOT EXISTS idx_salaries_employee_id ON salaries (employee, id);
+CREATE INDEX IF NOT EXISTS idx_salaries_employee_salary_date_id ON salaries (employee, salary_date, id);
+
+
+-- Transactional outbox: salary events are written with the salary row and relayed to Kafka in batches
+CREATE TABLE IF NOT EXISTS salary_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    salary_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload TEXT NOT NULL,              -- SalaryEvent serialized as JSON
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Payroll aggregates, maintained by the salary event consumer (SalaryAggregateService).
+-- salary_aggregate_members holds what every salary currently contributes, so an event only needs to move
+-- one salary's contribution between groups and replaying an event changes nothing.
+CREATE TABLE IF NOT EXISTS salary_aggregate_members (
+    salary_id BIGINT PRIMARY KEY,
+    employee VARCHAR(255) NOT NULL,
+    salary_month VARCHAR(7),            -- YYYY-MM, NULL without a salary date
+    salary NUMERIC(19, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS salary_aggregates (
+    dimension VARCHAR(16) NOT NULL,     -- employee or month
+    group_key VARCHAR(255) NOT NULL,
+    total NUMERIC(21, 2) NOT NULL,
+    salary_count BIGINT NOT NULL,
+    PRIMARY KEY (dimension, group_key)
+);
+
+-- One-off backfill on the first start with aggregates: later changes arrive as salary events
+WITH members AS (
+    INSERT INTO salary_aggregate_members (salary_id, employee, salary_month, salary)
+    SELECT id, employee, to_char(salary_date, 'YYYY-MM'), salary
+    FROM salaries
+    WHERE salary IS NOT NULL
+      AND NOT EXISTS (SELECT 1 FROM salary_aggregate_members)
+    RETURNING employee, salary_month, salary
+)
+INSERT INTO salary_aggregates (dimension, group_key, total, salary_count)
+SELECT 'employee', employee, sum(salary), count(*) FROM members GROUP BY employee
+UNION ALL
+SELECT 'month', salary_month, sum(salary), count(*) FROM members WHERE salary_month IS NOT NULL GROUP BY salary_month
+ON CONFLICT (dimension, group_key) DO UPDATE
+    SET total = salary_aggregates.total + EXCLUDED.total,
+        salary_count = salary_aggregates.salary_count + EXCLUDED.salary_count;
+
+-- Change log behind the list ETag and GET /api/v1/salaries/changes (SalaryChangeLog): one row per salary write,
+-- inserted at the end of the transaction of the write. Versions are taken under an advisory lock held until commit,
+-- so they become visible in order and a reader that saw version N has seen every change up to N.
+CREATE TABLE IF NOT EXISTS salary_changes (
+    version BIGSERIAL PRIMARY KEY,
+    salary_id BIGINT NOT NULL,
+    change_type VARCHAR(16) NOT NULL,   -- CREATED, UPDATED or DELETED
+    changed_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_salary_changes_changed_at ON salary_changes (changed_at);
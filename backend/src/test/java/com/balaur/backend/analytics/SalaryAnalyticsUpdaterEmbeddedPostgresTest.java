@@ -0,0 +1,104 @@
+package com.balaur.backend.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SalaryAnalyticsUpdaterEmbeddedPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private SalaryColumnStore salaryColumnStore;
+    private MessageListenerContainer listenerContainer;
+    private ReachableDataSource reachableDataSource;
+    private SalaryAnalyticsUpdater salaryAnalyticsUpdater;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE salaries");
+        jdbcTemplate.update("INSERT INTO salaries (id, employee, salary, salary_date) VALUES (1, 'John Doe', 5000.00, '2024-01-31 12:00:00')");
+
+        salaryColumnStore = new SalaryColumnStore(4);
+        listenerContainer = mock(MessageListenerContainer.class);
+        KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+        when(listenerRegistry.getListenerContainer(SalaryAnalyticsUpdater.LISTENER_ID)).thenReturn(listenerContainer);
+        reachableDataSource = new ReachableDataSource(dataSource);
+        salaryAnalyticsUpdater = new SalaryAnalyticsUpdater(salaryColumnStore, new ObjectMapper(), listenerRegistry,
+                reachableDataSource, new DataSourceTransactionManager(reachableDataSource), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void retrySnapshot_AfterAFailedStartupLoad_LoadsTheSnapshotAndStartsTheListener() {
+        reachableDataSource.reachable = false;
+        salaryAnalyticsUpdater.loadSnapshot();
+
+        assertFalse(salaryColumnStore.isLoaded());
+        verify(listenerContainer, never()).start();
+
+        reachableDataSource.reachable = true;
+        salaryAnalyticsUpdater.retrySnapshot();
+
+        assertTrue(salaryColumnStore.isLoaded());
+        assertEquals(1, salaryColumnStore.summarize(SalaryColumnFilter.NONE).count());
+        verify(listenerContainer).start();
+    }
+
+    @Test
+    void retrySnapshot_OnceLoaded_DoesNotReloadIt() {
+        salaryAnalyticsUpdater.loadSnapshot();
+        new JdbcTemplate(dataSource)
+                .update("INSERT INTO salaries (id, employee, salary, salary_date) VALUES (2, 'Jane Doe', 6000.00, '2024-02-29 12:00:00')");
+
+        salaryAnalyticsUpdater.retrySnapshot();
+
+        assertEquals(1, salaryColumnStore.summarize(SalaryColumnFilter.NONE).count());
+        verify(listenerContainer, times(1)).start();
+    }
+
+    private static class ReachableDataSource extends DelegatingDataSource {
+        private volatile boolean reachable = true;
+
+        ReachableDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!reachable) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
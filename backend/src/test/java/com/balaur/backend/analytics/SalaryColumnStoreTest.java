@@ -0,0 +1,114 @@
+package com.balaur.backend.analytics;
+
+import com.balaur.backend.kafka.SalaryEvent;
+import com.balaur.backend.kafka.SalaryEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryColumnStoreTest {
+    private SalaryColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Small chunks, so the queries below run across several parallel chunks
+        store = new SalaryColumnStore(4);
+        store.replaceAll(new SalaryColumns());
+    }
+
+    @Test
+    void summarize_FiltersAndComputesPercentiles() {
+        List<SalaryEvent> events = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            events.add(created(id, id + ".00", id % 2 == 0 ? "John Doe" : "Jane Doe", LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(id)));
+        }
+        store.applyAll(events);
+
+        SalaryColumnStore.Summary all = store.summarize(SalaryColumnFilter.NONE, 50, 90, 100);
+        assertEquals(100, all.rows());
+        assertEquals(100, all.count());
+        assertEquals(505_000, all.totalCents());
+        assertEquals(100, all.minCents());
+        assertEquals(10_000, all.maxCents());
+        assertArrayEquals(new long[]{5_000, 9_000, 10_000}, all.percentileCents());
+
+        SalaryColumnFilter johnInJanuary = new SalaryColumnFilter("John Doe",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), new BigDecimal("10"), new BigDecimal("20.5"));
+        SalaryColumnStore.Summary filtered = store.summarize(johnInJanuary);
+        // Even ids from 10 to 20, dated 2024-01-11 to 2024-01-21
+        assertEquals(6, filtered.count());
+        assertEquals(9_000, filtered.totalCents());
+
+        assertEquals(0, store.summarize(new SalaryColumnFilter("Nobody", null, null, null, null)).count());
+    }
+
+    @Test
+    void groupBy_SumsPerEmployeeAndPerMonth() {
+        store.applyAll(List.of(
+                created(1L, "5000.00", "John Doe", LocalDateTime.of(2024, 1, 31, 23, 59)),
+                created(2L, "4000.00", "John Doe", LocalDateTime.of(2024, 3, 1, 0, 0)),
+                created(3L, "3000.00", "Jane Doe", LocalDateTime.of(2024, 1, 15, 12, 0)),
+                created(4L, "1000.00", "Jane Doe", null)));
+
+        assertEquals(List.of(
+                new SalaryColumnStore.Group("Jane Doe", 2, 400_000),
+                new SalaryColumnStore.Group("John Doe", 2, 900_000)),
+                store.groupBy(SalaryColumnStore.GROUP_BY_EMPLOYEE, SalaryColumnFilter.NONE));
+        assertEquals(List.of(
+                new SalaryColumnStore.Group("2024-01", 2, 800_000),
+                new SalaryColumnStore.Group("2024-03", 1, 400_000)),
+                store.groupBy(SalaryColumnStore.GROUP_BY_MONTH, SalaryColumnFilter.NONE));
+    }
+
+    @Test
+    void applyAll_UpdatesAndDeletesRowsAndIgnoresReplays() {
+        List<SalaryEvent> events = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            events.add(created(id, "1.00", "John Doe", null));
+        }
+        store.applyAll(events);
+        store.applyAll(events);
+
+        List<SalaryEvent> changes = new ArrayList<>();
+        for (long id = 1; id <= 1000; id += 2) {
+            changes.add(SalaryEvent.builder().eventType(SalaryEventType.DELETED).salaryId(id).build());
+        }
+        changes.add(SalaryEvent.builder().eventType(SalaryEventType.UPDATED).salaryId(2L)
+                .salary(new BigDecimal("2.005")).employee("Jane Doe").build());
+        store.applyAll(changes);
+        store.applyAll(changes);
+
+        SalaryColumnStore.Summary summary = store.summarize(SalaryColumnFilter.NONE);
+        assertEquals(500, summary.rows());
+        assertEquals(499 * 100 + 201, summary.totalCents());
+        assertEquals(List.of(
+                new SalaryColumnStore.Group("Jane Doe", 1, 201),
+                new SalaryColumnStore.Group("John Doe", 499, 49_900)),
+                store.groupBy(SalaryColumnStore.GROUP_BY_EMPLOYEE, SalaryColumnFilter.NONE));
+    }
+
+    @Test
+    void epochMonth_MatchesLocalDate() {
+        for (int epochDay = -150_000; epochDay <= 150_000; epochDay += 7) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertEquals((date.getYear() - 1970) * 12 + date.getMonthValue() - 1, SalaryColumnStore.epochMonth(epochDay));
+        }
+    }
+
+    private static SalaryEvent created(Long id, String salary, String employee, LocalDateTime salaryDate) {
+        return SalaryEvent.builder()
+                .eventType(SalaryEventType.CREATED)
+                .salaryId(id)
+                .salary(new BigDecimal(salary))
+                .employee(employee)
+                .salaryDate(salaryDate)
+                .build();
+    }
+}
@@ -0,0 +1,373 @@
+package com.balaur.backend.cache;
+
+import com.balaur.backend.requests.SalaryPageRequest;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.PageInfo;
+import com.balaur.backend.responses.SalariesResponseWrapper;
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryCacheTest {
+    private static final String INDEX_KEY = "salaries:index:id:-:50";
+    private static final String ENTRIES_KEY = "salaries:entries";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private MeterRegistry meterRegistry;
+    private SalaryCache salaryCache;
+    private SalaryPageRequest pageRequest;
+    private SalaryResponse firstSalary;
+    private SalaryResponse secondSalary;
+    private SalariesResponseWrapper page;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        salaryCache = new SalaryCache(redisTemplate, objectMapper, meterRegistry, 16, Duration.ofMinutes(1),
+                Duration.ofSeconds(10), Duration.ofMillis(200), false, false);
+        pageRequest = new SalaryPageRequest();
+
+        firstSalary = SalaryResponse.builder().salaryId(1L).salary(BigDecimal.TEN).employee("John Doe").build();
+        secondSalary = SalaryResponse.builder().salaryId(2L).salary(BigDecimal.ONE).employee("Jane Doe").build();
+        page = new SalariesResponseWrapper(List.of(firstSalary, secondSalary),
+                List.of(new Link("self", "/api/v1/salaries", "GET", "v1")),
+                PageInfo.builder().size(50).sort("id").build());
+
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+        // Page writes run their callback against the same mocks, as one committed transaction
+        lenient().when(redisTemplate.execute(any(SessionCallback.class)))
+                .thenAnswer(invocation -> invocation.<SessionCallback<?>>getArgument(0).execute(redisTemplate));
+        lenient().when(redisTemplate.exec()).thenReturn(List.of(true));
+    }
+
+    @Test
+    void getPage_WhenRedisHit_AssemblesPageOnceThenServesFromNearCache() {
+        // JSON-serialized values come back as maps and go through the ObjectMapper
+        SalaryPageIndex index = new SalaryPageIndex(List.of(1L, 2L), page.getLinks(), page.getPage());
+        Map<String, Object> cachedIndex = new LinkedHashMap<>(Map.of("ids", List.of(1, 2)));
+        Map<String, Object> firstEntry = new LinkedHashMap<>(Map.of("salaryId", 1));
+        Map<String, Object> secondEntry = new LinkedHashMap<>(Map.of("salaryId", 2));
+        when(valueOperations.get(INDEX_KEY)).thenReturn(cachedIndex);
+        when(objectMapper.convertValue(cachedIndex, SalaryPageIndex.class)).thenReturn(index);
+        when(hashOperations.multiGet(ENTRIES_KEY, List.of("1", "2"))).thenReturn(List.of(firstEntry, secondEntry));
+        when(objectMapper.convertValue(firstEntry, SalaryResponse.class)).thenReturn(firstSalary);
+        when(objectMapper.convertValue(secondEntry, SalaryResponse.class)).thenReturn(secondSalary);
+
+        SalariesResponseWrapper cached = salaryCache.getPage(pageRequest, () -> fail("loader must not run on a cache hit"));
+        SalariesResponseWrapper again = salaryCache.getPage(pageRequest, () -> fail("loader must not run on a cache hit"));
+
+        assertEquals(2, cached.getData().size());
+        assertSame(cached, again);
+        verify(valueOperations, times(1)).get(INDEX_KEY);
+        verify(redisTemplate, never()).hasKey(any());
+        assertEquals(1.0, requests("near", "hit"));
+        assertEquals(1.0, requests("near", "miss"));
+        assertEquals(1.0, requests("redis", "hit"));
+        assertEquals(0.0, requests("redis", "miss"));
+        assertEquals(1L, meterRegistry.get("salaries.cache.convert").tag("type", "index").timer().count());
+        assertEquals(2L, meterRegistry.get("salaries.cache.convert").tag("type", "entry").timer().count());
+    }
+
+    @Test
+    void getPage_WhenRedisValuesAreAlreadyTyped_SkipsJsonConversion() {
+        // The binary codec hands back the typed objects themselves
+        SalaryPageIndex index = new SalaryPageIndex(List.of(1L, 2L), page.getLinks(), page.getPage());
+        when(valueOperations.get(INDEX_KEY)).thenReturn(index);
+        when(hashOperations.multiGet(ENTRIES_KEY, List.of("1", "2"))).thenReturn(List.of(firstSalary, secondSalary));
+
+        SalariesResponseWrapper cached = salaryCache.getPage(pageRequest, () -> fail("loader must not run on a cache hit"));
+
+        assertEquals(List.of(firstSalary, secondSalary), cached.getData());
+        verifyNoInteractions(objectMapper);
+        assertEquals(0L, meterRegistry.get("salaries.cache.convert").tag("type", "entry").timer().count());
+    }
+
+    @Test
+    void getPage_WhenEntryDeletedAfterIndexing_SkipsIt() {
+        SalaryPageIndex index = new SalaryPageIndex(List.of(1L, 2L), page.getLinks(), page.getPage());
+        when(valueOperations.get(INDEX_KEY)).thenReturn(index);
+        when(hashOperations.multiGet(ENTRIES_KEY, List.of("1", "2"))).thenReturn(Arrays.asList(null, secondSalary));
+
+        SalariesResponseWrapper cached = salaryCache.getPage(pageRequest, () -> fail("loader must not run on a cache hit"));
+
+        assertEquals(1, cached.getData().size());
+        assertEquals(2L, cached.getData().getFirst().getSalaryId());
+    }
+
+    @Test
+    void getPage_WhenMiss_LoadsAndWritesEntriesAndIndex() {
+        when(valueOperations.get(INDEX_KEY)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertSame(page, salaryCache.getPage(pageRequest, () -> {
+            loads.incrementAndGet();
+            return page;
+        }));
+        assertSame(page, salaryCache.getPage(pageRequest, () -> fail("second read must hit the near cache")));
+
+        assertEquals(1, loads.get());
+        verify(hashOperations).putAll(eq(ENTRIES_KEY), anyMap());
+        verify(valueOperations).set(eq(INDEX_KEY), any(SalaryPageIndex.class), any(Duration.class));
+        verify(setOperations).add("salaries:indexes:id:open", INDEX_KEY);
+        verify(redisTemplate).watch(SalaryCache.ENTRIES_GENERATION_KEY);
+        verify(redisTemplate).multi();
+    }
+
+    @Test
+    void getPage_WhenSalariesChangeDuringTheLoad_DoesNotWriteThePageToRedis() {
+        when(valueOperations.get(INDEX_KEY)).thenReturn(null);
+        // Read before the load, then again inside the transaction after a writer bumped it
+        when(valueOperations.increment(SalaryCache.ENTRIES_GENERATION_KEY, 0)).thenReturn(4L, 5L);
+
+        assertSame(page, salaryCache.getPage(pageRequest, () -> page));
+
+        verify(redisTemplate).unwatch();
+        verify(redisTemplate, never()).multi();
+        verify(hashOperations, never()).putAll(anyString(), anyMap());
+        verify(valueOperations, never()).set(eq(INDEX_KEY), any(), any(Duration.class));
+    }
+
+    @Test
+    void getPage_WhenConcurrentMisses_RunsLoaderOnce() throws Exception {
+        when(valueOperations.get(INDEX_KEY)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<SalariesResponseWrapper> first = executor.submit(() -> salaryCache.getPage(pageRequest, () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                awaitQuietly(releaseLoader);
+                return page;
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<SalariesResponseWrapper>> waiters = List.of(
+                    executor.submit(() -> salaryCache.getPage(pageRequest, () -> fail("loader must run only once"))),
+                    executor.submit(() -> salaryCache.getPage(pageRequest, () -> fail("loader must run only once"))));
+            releaseLoader.countDown();
+
+            assertSame(page, first.get(5, TimeUnit.SECONDS));
+            for (Future<SalariesResponseWrapper> waiter : waiters) {
+                assertSame(page, waiter.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getPage_WhenAnotherNodeHoldsLease_WaitsForItsPageThenFallsBackToLoader() {
+        when(valueOperations.setIfAbsent(startsWith("salaries:lease:"), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(INDEX_KEY)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        SalariesResponseWrapper loaded = salaryCache.getPage(pageRequest, () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+
+        assertSame(page, loaded);
+        assertEquals(1, loads.get());
+        verify(valueOperations, atLeast(2)).get(INDEX_KEY);
+        verify(redisTemplate, never()).execute(any(), anyList(), any());
+    }
+
+    @Test
+    void salarySaved_WhenEdited_PatchesOneEntryWithoutDroppingIdPages() {
+        salaryCache.salarySaved(firstSalary, "John Doe", false, false);
+
+        verify(hashOperations).put(ENTRIES_KEY, "1", firstSalary);
+        verify(redisTemplate, never()).delete(List.of("salaries:indexes:id"));
+        verify(redisTemplate, never()).delete(List.of("salaries:indexes:id:open"));
+        verify(redisTemplate, never()).delete(List.of("salaries:indexes:salaryDate"));
+        verify(valueOperations).increment(SalaryCache.ENTRIES_GENERATION_KEY);
+        verify(redisTemplate).convertAndSend(SalaryCache.INVALIDATION_CHANNEL, "salaries");
+    }
+
+    @Test
+    void salarySaved_WhenEmployeeChanged_DropsFilteredPagesOfBothEmployees() {
+        salaryCache.salarySaved(firstSalary, "Jane Roe", false, false);
+
+        verify(redisTemplate).delete(List.of("salaries:indexes:filtered:any-employee"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:filtered:employee:John+Doe"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:filtered:employee:Jane+Roe"));
+        verify(redisTemplate, never()).delete(List.of("salaries:indexes:filtered"));
+    }
+
+    @Test
+    void getPage_WhenFilteredMiss_TracksIndexUnderItsEmployee() {
+        SalaryPageRequest filtered = new SalaryPageRequest();
+        filtered.setEmployee(" John Doe ");
+        filtered.setMinSalary(new BigDecimal("5000.00"));
+        String indexKey = "salaries:index:id:-:50:employee=John+Doe&minSalary=5000";
+        when(valueOperations.get(indexKey)).thenReturn(null);
+
+        salaryCache.getPage(filtered, () -> page);
+
+        verify(valueOperations).set(eq(indexKey), any(SalaryPageIndex.class), any(Duration.class));
+        verify(setOperations).add("salaries:indexes:filtered", indexKey);
+        verify(setOperations).add("salaries:indexes:filtered:employee:John+Doe", indexKey);
+        verify(setOperations, never()).add("salaries:indexes:id:open", indexKey);
+    }
+
+    @Test
+    void salarySaved_WhenCreated_DropsIdAndSalaryDatePages() {
+        when(setOperations.members("salaries:indexes:id:open")).thenReturn(Set.of(INDEX_KEY));
+        when(setOperations.members("salaries:indexes:id")).thenReturn(Set.of());
+        when(setOperations.members("salaries:indexes:salaryDate")).thenReturn(Set.of());
+
+        salaryCache.salarySaved(firstSalary, null, true, true);
+
+        verify(hashOperations).put(ENTRIES_KEY, "1", firstSalary);
+        verify(redisTemplate).delete(List.of("salaries:indexes:id:open", INDEX_KEY));
+        verify(redisTemplate).delete(List.of("salaries:indexes:id"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:salaryDate"));
+    }
+
+    @Test
+    void salariesCreated_DropsPagesAndBroadcastsOnce() {
+        when(setOperations.members(anyString())).thenReturn(Set.of());
+
+        salaryCache.salariesCreated(1000);
+
+        verify(redisTemplate).delete(List.of("salaries:indexes:id"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:id:open"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:salaryDate"));
+        verify(redisTemplate).delete(List.of("salaries:indexes:filtered"));
+        verify(redisTemplate, never()).delete(ENTRIES_KEY);
+        verify(hashOperations, never()).put(any(), any(), any());
+        verify(redisTemplate, times(1)).convertAndSend(SalaryCache.INVALIDATION_CHANNEL, "salaries");
+    }
+
+    @Test
+    void salaryDeleted_RemovesEntryAndBroadcasts() {
+        salaryCache.salaryDeleted(2L, "Jane Doe");
+
+        verify(hashOperations).delete(ENTRIES_KEY, "2");
+        verify(valueOperations).increment(SalaryCache.ENTRIES_GENERATION_KEY);
+        verify(redisTemplate).convertAndSend(SalaryCache.INVALIDATION_CHANNEL, "salaries");
+    }
+
+    @Test
+    void onMessage_FromAnotherNode_DropsNearCache() {
+        when(valueOperations.get(INDEX_KEY)).thenReturn(null);
+        salaryCache.getPage(pageRequest, () -> page);
+
+        salaryCache.onMessage(null, null);
+
+        AtomicInteger loads = new AtomicInteger();
+        salaryCache.getPage(pageRequest, () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getRenderedPage_ServesRenderedBytesUntilInvalidated() {
+        SalaryCache renderingCache = new SalaryCache(redisTemplate, objectMapper, meterRegistry, 16, Duration.ofMinutes(1),
+                Duration.ofSeconds(10), Duration.ofMillis(200), false, true);
+        RenderedSalaryPage rendered = RenderedSalaryPage.of(HttpStatus.OK, "{\"data\":[]}".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger renders = new AtomicInteger();
+        Supplier<RenderedSalaryPage> renderer = () -> {
+            renders.incrementAndGet();
+            return rendered;
+        };
+
+        assertSame(rendered, renderingCache.getRenderedPage("id:-:50:full", renderer));
+        assertSame(rendered, renderingCache.getRenderedPage("id:-:50:full", renderer));
+        assertEquals(1, renders.get());
+
+        renderingCache.onMessage(null, null);
+        renderingCache.getRenderedPage("id:-:50:full", renderer);
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void getRenderedPage_DoesNotKeepErrorResponses() {
+        SalaryCache renderingCache = new SalaryCache(redisTemplate, objectMapper, meterRegistry, 16, Duration.ofMinutes(1),
+                Duration.ofSeconds(10), Duration.ofMillis(200), false, true);
+        AtomicInteger renders = new AtomicInteger();
+        Supplier<RenderedSalaryPage> renderer = () -> {
+            renders.incrementAndGet();
+            return RenderedSalaryPage.of(HttpStatus.NOT_FOUND, "{}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        renderingCache.getRenderedPage("id:-:50:full", renderer);
+        renderingCache.getRenderedPage("id:-:50:full", renderer);
+
+        assertEquals(2, renders.get());
+        assertFalse(salaryCache.isRenderedPagesEnabled());
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get(SalaryCache.REQUESTS_METRIC).tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
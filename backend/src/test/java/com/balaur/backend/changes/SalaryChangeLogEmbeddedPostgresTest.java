@@ -0,0 +1,156 @@
+package com.balaur.backend.changes;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.kafka.SalaryEventType;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SalaryChangeLogEmbeddedPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private RedisTemplate<String, Object> redisTemplate;
+    private SalaryCache salaryCache;
+    private SalaryChangeLog salaryChangeLog;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        redisTemplate = mock(RedisTemplate.class);
+        salaryCache = mock(SalaryCache.class);
+        salaryChangeLog = new SalaryChangeLog(jdbcTemplate, transactionManager, redisTemplate, salaryCache, Duration.ofDays(7));
+
+        // The change log rejects versions below its oldest row, so every test starts from version 1 again
+        jdbcTemplate.execute("TRUNCATE salaries, salary_changes RESTART IDENTITY");
+    }
+
+    @Test
+    void findChanges_ReturnsTheLatestChangeOfEverySalaryWithItsCurrentRow() {
+        long since = salaryChangeLog.findChanges(0, 10).version();
+        insertSalary(1L, "John Doe");
+        insertSalary(2L, "Jane Doe");
+        append(SalaryEventType.CREATED, 1L, 2L);
+        jdbcTemplate.update("UPDATE salaries SET employee = 'John Roe' WHERE id = 1");
+        append(SalaryEventType.UPDATED, 1L);
+        jdbcTemplate.update("DELETE FROM salaries WHERE id = 2");
+        append(SalaryEventType.DELETED, 2L);
+
+        SalaryChangeLog.ChangeSet changeSet = salaryChangeLog.findChanges(since, 10);
+
+        assertFalse(changeSet.hasMore());
+        assertEquals(2, changeSet.changes().size());
+        SalaryChangeLog.Change updated = changeSet.changes().get(0);
+        assertEquals(1L, updated.salaryId());
+        assertEquals(SalaryEventType.UPDATED, updated.type());
+        assertEquals("John Roe", updated.employee());
+        SalaryChangeLog.Change deleted = changeSet.changes().get(1);
+        assertEquals(SalaryEventType.DELETED, deleted.type());
+        assertNull(deleted.employee());
+        assertEquals(deleted.version(), changeSet.version());
+        assertTrue(salaryChangeLog.findChanges(changeSet.version(), 10).changes().isEmpty());
+    }
+
+    @Test
+    void findChanges_WithLimit_PagesByVersion() {
+        insertSalary(1L, "John Doe");
+        insertSalary(2L, "Jane Doe");
+        insertSalary(3L, "Jack Doe");
+        append(SalaryEventType.CREATED, 1L, 2L, 3L);
+
+        SalaryChangeLog.ChangeSet first = salaryChangeLog.findChanges(0, 2);
+        SalaryChangeLog.ChangeSet second = salaryChangeLog.findChanges(first.version(), 2);
+
+        assertTrue(first.hasMore());
+        assertEquals(List.of(1L, 2L), first.changes().stream().map(SalaryChangeLog.Change::salaryId).toList());
+        assertFalse(second.hasMore());
+        assertEquals(List.of(3L), second.changes().stream().map(SalaryChangeLog.Change::salaryId).toList());
+    }
+
+    @Test
+    void findChanges_WhenChangesWerePrunedOrVersionIsUnknown_ReturnsNull() {
+        long since = salaryChangeLog.findChanges(0, 10).version();
+        insertSalary(1L, "John Doe");
+        append(SalaryEventType.CREATED, 1L);
+        append(SalaryEventType.UPDATED, 1L);
+        append(SalaryEventType.UPDATED, 1L);
+
+        new SalaryChangeLog(jdbcTemplate, new DataSourceTransactionManager(dataSource), redisTemplate, salaryCache, Duration.ZERO)
+                .prune();
+
+        assertEquals(1L, (long) jdbcTemplate.queryForObject("SELECT count(*) FROM salary_changes", Long.class));
+        assertNull(salaryChangeLog.findChanges(since, 10));
+        assertNull(salaryChangeLog.findChanges(Long.MAX_VALUE, 10));
+    }
+
+    @Test
+    void publishChanges_MovesToTheLatestCommittedChangeAndBroadcasts() {
+        salaryChangeLog.refreshVersion();
+        long before = salaryChangeLog.currentVersion();
+        insertSalary(1L, "John Doe");
+        append(SalaryEventType.CREATED, 1L);
+
+        salaryChangeLog.publishChanges();
+
+        long after = salaryChangeLog.currentVersion();
+        assertEquals(jdbcTemplate.queryForObject("SELECT max(version) FROM salary_changes", Long.class), after);
+        assertTrue(after > before);
+        verify(salaryCache, atLeastOnce()).invalidateNearCaches();
+        verify(redisTemplate).convertAndSend(eq(SalaryChangeLog.VERSION_CHANNEL), eq(String.valueOf(after)));
+    }
+
+    @Test
+    void refreshVersion_OnAReplicaThatMissedThePublish_ServesThePublishedVersion() {
+        insertSalary(1L, "John Doe");
+        append(SalaryEventType.CREATED, 1L);
+        append(SalaryEventType.UPDATED, 1L);
+        salaryChangeLog.publishChanges();
+        SalaryChangeLog otherReplica = new SalaryChangeLog(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                redisTemplate, salaryCache, Duration.ofDays(7));
+
+        otherReplica.refreshVersion();
+
+        assertEquals(salaryChangeLog.currentVersion(), otherReplica.currentVersion());
+    }
+
+    private void insertSalary(long id, String employee) {
+        jdbcTemplate.update("INSERT INTO salaries (id, salary, employee, salary_date) VALUES (?, 1000, ?, now())", id, employee);
+    }
+
+    private void append(SalaryEventType changeType, Long... salaryIds) {
+        transactionTemplate.executeWithoutResult(status -> salaryChangeLog.append(changeType, List.of(salaryIds)));
+    }
+}
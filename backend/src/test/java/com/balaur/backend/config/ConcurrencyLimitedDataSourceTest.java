@@ -0,0 +1,105 @@
+package com.balaur.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitedDataSourceTest {
+    private DataSource targetDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    void getConnection_WhenLimitIsReached_FailsOnceTheAcquireTimeoutHasPassed() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(targetDataSource, 2, 10, Duration.ofMillis(50));
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertEquals(2, dataSource.getActive());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void close_ReleasesThePermitOnlyOnce() throws SQLException {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(targetDataSource, 1, 10, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.getActive());
+        dataSource.getConnection();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void getConnection_WhenTooManyCallersWait_FailsRightAway() throws Exception {
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(targetDataSource, 1, 1, Duration.ofSeconds(30));
+        Connection connection = dataSource.getConnection();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return dataSource.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (dataSource.getWaiting() == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+            connection.close();
+            assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ReleasesThePermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("database is down"));
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(targetDataSource, 1, 10, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getActive());
+    }
+
+    @Test
+    void unwrap_ReachesTheTargetConnection() throws SQLException {
+        Connection targetConnection = mock(Connection.class);
+        when(targetConnection.unwrap(Connection.class)).thenReturn(targetConnection);
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(targetDataSource, 1, 10, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+
+        assertSame(targetConnection, connection.unwrap(Connection.class));
+        connection.close();
+        verify(targetConnection).close();
+    }
+}
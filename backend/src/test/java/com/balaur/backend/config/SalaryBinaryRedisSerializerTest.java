@@ -0,0 +1,107 @@
+package com.balaur.backend.config;
+
+import com.balaur.backend.cache.SalaryPageIndex;
+import com.balaur.backend.responses.Link;
+import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.PageInfo;
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryBinaryRedisSerializerTest {
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private SalaryBinaryRedisSerializer binarySerializer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new RedisConfig().objectMapper();
+        jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        binarySerializer = new SalaryBinaryRedisSerializer(jsonSerializer);
+    }
+
+    @Test
+    void salaryResponse_WithCanonicalLinks_RoundTripsAndIsSmallerThanJson() {
+        SalaryResponse salary = SalaryResponse.builder()
+                .salaryId(123456L)
+                .salary(new BigDecimal("5000.25"))
+                .employee("John Doe")
+                .salaryDate(LocalDateTime.of(2024, 11, 8, 12, 30, 15, 123_000_000))
+                .version(3L)
+                .links(LinkUtils.generateLinks("get", "v1", "123456"))
+                .build();
+
+        byte[] binary = binarySerializer.serialize(salary);
+        byte[] json = jsonSerializer.serialize(salary);
+        SalaryResponse decoded = (SalaryResponse) binarySerializer.deserialize(binary);
+
+        assertJsonEquals(salary, decoded);
+        assertTrue(binary.length * 5 < json.length,
+                "binary " + binary.length + " bytes vs json " + json.length + " bytes");
+    }
+
+    @Test
+    void salaryResponse_WithCustomLinksAndNulls_RoundTrips() {
+        SalaryResponse salary = SalaryResponse.builder()
+                .salaryId(-1L)
+                .salary(new BigDecimal("123456789012345678901234567890.12"))
+                .employee("-")
+                .message("An error occurred.")
+                .links(List.of(new Link("edit", "/api/v1/salaries/edit/7", "PATCH", "v1")))
+                .build();
+
+        assertJsonEquals(salary, binarySerializer.deserialize(binarySerializer.serialize(salary)));
+    }
+
+    @Test
+    void salaryPageIndex_RoundTrips() {
+        SalaryPageIndex index = new SalaryPageIndex(
+                List.of(1L, 2L, 3L, 1000L, 999L),
+                List.of(new Link("self", "/api/v1/salaries", "GET", "v1"),
+                        LinkUtils.generateNextLink("v1", 999L, 5, "id")),
+                PageInfo.builder().size(5).sort("id").after(null).nextCursor(999L).totalElements(42).build());
+
+        assertJsonEquals(index, binarySerializer.deserialize(binarySerializer.serialize(index)));
+    }
+
+    @Test
+    void salaryDatePageIndex_KeepsTheCursorDates() {
+        LocalDateTime afterDate = LocalDateTime.of(2024, 1, 31, 12, 0, 0, 123_000);
+        LocalDateTime nextCursorDate = LocalDateTime.of(2024, 2, 29, 12, 0);
+        SalaryPageIndex index = new SalaryPageIndex(
+                List.of(7L, 3L),
+                List.of(LinkUtils.generateNextLink("v1", 3L, nextCursorDate, 2, "salaryDate", "")),
+                PageInfo.builder().size(2).sort("salaryDate").after(5L).afterDate(afterDate)
+                        .nextCursor(3L).nextCursorDate(nextCursorDate).totalElements(42).build());
+
+        SalaryPageIndex decoded = (SalaryPageIndex) binarySerializer.deserialize(binarySerializer.serialize(index));
+
+        assertEquals(afterDate, decoded.getPage().getAfterDate());
+        assertEquals(nextCursorDate, decoded.getPage().getNextCursorDate());
+        assertJsonEquals(index, decoded);
+    }
+
+    @Test
+    void otherValuesAndJsonWrittenValues_UseTheJsonFallback() {
+        byte[] leaseToken = binarySerializer.serialize("token");
+        assertArrayEquals(jsonSerializer.serialize("token"), leaseToken);
+        assertEquals("token", binarySerializer.deserialize(leaseToken));
+
+        SalaryResponse salary = SalaryResponse.builder().salaryId(1L).employee("John Doe").build();
+        Object decoded = binarySerializer.deserialize(jsonSerializer.serialize(salary));
+        assertEquals("John Doe", ((Map<?, ?>) decoded).get("employee"));
+    }
+
+    private void assertJsonEquals(Object expected, Object actual) {
+        assertEquals(objectMapper.valueToTree(expected), objectMapper.valueToTree(actual));
+    }
+}
@@ -0,0 +1,76 @@
+package com.balaur.backend.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogTurboFilterTest {
+    private static final String FORMAT = "[SalaryService.getSalaries] Loaded {} salaries.";
+
+    private LoggerContext loggerContext;
+    private SampledLogTurboFilter filter;
+    private Logger serviceLogger;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        serviceLogger = loggerContext.getLogger("com.balaur.backend.services.SalaryService");
+
+        filter = new SampledLogTurboFilter();
+        filter.setMaxPerInterval(3);
+        filter.setIntervalMillis(60_000);
+        filter.start();
+    }
+
+    @Test
+    void decide_WhenCallSiteExceedsItsBudget_DropsTheRestOfTheInterval() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.INFO, FORMAT));
+        }
+
+        assertEquals(FilterReply.DENY, decide(serviceLogger, Level.INFO, FORMAT));
+        // Every call site has a budget of its own
+        assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.INFO, "[SalaryService.deleteSalary] Deleted {}."));
+    }
+
+    @Test
+    void decide_WhenWarningOrOtherLogger_NeverSamples() {
+        Logger cacheLogger = loggerContext.getLogger("com.balaur.backend.cache.SalaryCache");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.WARN, FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(cacheLogger, Level.INFO, FORMAT));
+        }
+    }
+
+    @Test
+    void decide_WhenLevelIsDisabled_DoesNotUseTheBudget() {
+        for (int i = 0; i < 10; i++) {
+            decide(serviceLogger, Level.DEBUG, FORMAT);
+        }
+
+        assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.INFO, FORMAT));
+    }
+
+    @Test
+    void decide_WhenIntervalHasPassed_StartsANewBudget() throws InterruptedException {
+        filter.setIntervalMillis(20);
+        for (int i = 0; i < 4; i++) {
+            decide(serviceLogger, Level.INFO, FORMAT);
+        }
+
+        Thread.sleep(40);
+
+        assertEquals(FilterReply.NEUTRAL, decide(serviceLogger, Level.INFO, FORMAT));
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.balaur.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares a platform thread pool sized like Tomcat's default (200 threads) with a virtual thread per request on
+ * the shape of a salaries request: a short query on a 10 connection pool, then a longer wait without a connection
+ * (Redis, Kafka acks, a slow client). Prints throughput and latency percentiles for both.
+ * <p>
+ * Excluded from the normal build, run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int REQUESTS = 20_000;
+    private static final Duration QUERY_TIME = Duration.ofMillis(2);
+    private static final Duration REMOTE_WAIT = Duration.ofMillis(50);
+
+    private static EmbeddedPostgres postgres;
+    private static HikariDataSource pool;
+    private static ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        pool = new HikariDataSource();
+        pool.setDataSource(postgres.getPostgresDatabase());
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setMinimumIdle(POOL_SIZE);
+        dataSource = new ConcurrencyLimitedDataSource(pool, POOL_SIZE, REQUESTS, Duration.ofSeconds(30));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        pool.close();
+        postgres.close();
+    }
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        // Warm up the pool and the JIT
+        run("warm-up", Executors.newVirtualThreadPerTaskExecutor(), 2_000);
+
+        Result platform = run("platform", Executors.newFixedThreadPool(PLATFORM_THREADS), REQUESTS);
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor(), REQUESTS);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertEquals(0, platform.failed());
+        assertEquals(0, virtual.failed());
+    }
+
+    private Result run(String name, ExecutorService executor, int requests) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long[] latencies = new long[requests];
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                int request = i;
+                long submittedAt = System.nanoTime();
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        jdbcTemplate.queryForObject("SELECT pg_sleep(?)", Object.class, QUERY_TIME.toMillis() / 1000.0);
+                        Thread.sleep(REMOTE_WAIT);
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    latencies[request] = System.nanoTime() - submittedAt;
+                }, executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(name, requests, failed.get(), requests * 1_000_000_000.0 / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999));
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(String name, int requests, int failed, double throughput,
+                          double p50Millis, double p99Millis, double p999Millis) {
+        @Override
+        public String toString() {
+            return String.format("%-8s requests=%d failed=%d throughput=%.0f/s p50=%.1fms p99=%.1fms p99.9=%.1fms",
+                    name, requests, failed, throughput, p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
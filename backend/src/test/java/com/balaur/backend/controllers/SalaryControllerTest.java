@@ -1,9 +1,25 @@
 package com.balaur.backend.controllers;
 
+import com.balaur.backend.requests.SalaryPageRequest;
 import com.balaur.backend.requests.SalaryRequest;
+import com.balaur.backend.responses.EmployeeSearchResponse;
+import com.balaur.backend.responses.EmployeeSuggestion;
 import com.balaur.backend.responses.Link;
+import com.balaur.backend.requests.SalaryBulkEditRequest;
+import com.balaur.backend.requests.SalarySelectionRequest;
 import com.balaur.backend.responses.SalariesResponseWrapper;
+import com.balaur.backend.responses.SalaryBulkResponse;
+import com.balaur.backend.responses.SalaryAggregate;
+import com.balaur.backend.responses.SalaryAggregatesResponse;
+import com.balaur.backend.responses.SalaryChange;
+import com.balaur.backend.responses.SalaryChangesResponse;
 import com.balaur.backend.responses.SalaryResponse;
+import com.balaur.backend.services.SalaryAggregateService;
+import com.balaur.backend.services.SalaryBulkService;
+import com.balaur.backend.services.SalaryChangeService;
+import com.balaur.backend.services.SalaryExportService;
+import com.balaur.backend.services.SalaryImportService;
+import com.balaur.backend.services.SalarySearchService;
 import com.balaur.backend.services.SalaryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -13,17 +29,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +61,24 @@ class SalaryControllerTest {
     @MockBean
     private SalaryService salaryService;
 
+    @MockBean
+    private SalaryExportService salaryExportService;
+
+    @MockBean
+    private SalaryImportService salaryImportService;
+
+    @MockBean
+    private SalaryAggregateService salaryAggregateService;
+
+    @MockBean
+    private SalarySearchService salarySearchService;
+
+    @MockBean
+    private SalaryChangeService salaryChangeService;
+
+    @MockBean
+    private SalaryBulkService salaryBulkService;
+
     private ObjectMapper objectMapper;
     private SalaryRequest validSalaryRequest;
     private SalaryResponse sampleSalaryResponse;
@@ -80,7 +123,7 @@ class SalaryControllerTest {
     void getSalaries_ReturnsAllSalaries() throws Exception {
         List<SalaryResponse> salaries = Collections.singletonList(sampleSalaryResponse);
         SalariesResponseWrapper wrapper = new SalariesResponseWrapper(salaries, sampleLinks);
-        when(salaryService.getSalaries()).thenReturn(ResponseEntity.ok(wrapper));
+        when(salaryService.getSalaries(any(SalaryPageRequest.class))).thenReturn(ResponseEntity.ok(wrapper));
 
         mockMvc.perform(get("/api/v1/salaries/"))
                 .andExpect(status().isOk())
@@ -90,6 +133,152 @@ class SalaryControllerTest {
                 .andExpect(jsonPath("$.links[0].rel").value("self"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - Rendered Page Cache")
+    void getSalaries_WithRenderedPageCache_WritesTheRenderedBytes() throws Exception {
+        byte[] body = "{\"data\":[],\"links\":[]}".getBytes(StandardCharsets.UTF_8);
+        when(salaryService.isRenderedPageCacheEnabled()).thenReturn(true);
+        when(salaryService.getRenderedSalaries(any(SalaryPageRequest.class), eq(true)))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body));
+
+        mockMvc.perform(get("/api/v1/salaries/").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+
+        verify(salaryService, never()).getSalaries(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - Page Size Too Large")
+    void getSalaries_WithTooLargePageSize_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/").param("size", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - Unknown Links Mode")
+    void getSalaries_WithUnknownLinksMode_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/").param("links", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - ETag")
+    void getSalaries_WithKnownVersion_ReturnsETag() throws Exception {
+        when(salaryChangeService.currentETag()).thenReturn("\"42\"");
+        when(salaryService.getSalaries(any(SalaryPageRequest.class)))
+                .thenReturn(ResponseEntity.ok(new SalariesResponseWrapper(List.of(sampleSalaryResponse), sampleLinks)));
+
+        mockMvc.perform(get("/api/v1/salaries/"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+                .andExpect(jsonPath("$.data[0].salaryId").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - Not Modified")
+    void getSalaries_WithCurrentETag_ReturnsNotModifiedWithoutLoadingThePage() throws Exception {
+        when(salaryChangeService.currentETag()).thenReturn("\"42\"");
+
+        mockMvc.perform(get("/api/v1/salaries/").header(HttpHeaders.IF_NONE_MATCH, "\"41\", W/\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+
+        verify(salaryService, never()).getSalaries(any());
+        verify(salaryService, never()).getRenderedSalaries(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/ - Gzip ETag")
+    void getSalaries_WithGzipBody_ReturnsTheGzipETag() throws Exception {
+        when(salaryChangeService.currentETag()).thenReturn("\"42\"");
+        when(salaryService.isRenderedPageCacheEnabled()).thenReturn(true);
+        when(salaryService.getRenderedSalaries(any(SalaryPageRequest.class), eq(true)))
+                .thenReturn(ResponseEntity.ok().header(HttpHeaders.CONTENT_ENCODING, "gzip").body(new byte[]{31, -117}));
+
+        mockMvc.perform(get("/api/v1/salaries/").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\""));
+
+        mockMvc.perform(get("/api/v1/salaries/").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"42-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42-gzip\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/changes - Success")
+    void getChanges_ReturnsChangesSinceVersion() throws Exception {
+        SalaryChange deleted = SalaryChange.builder().version(43).salaryId(7L).change("deleted").build();
+        when(salaryChangeService.getChanges(42, 1000)).thenReturn(ResponseEntity.ok(SalaryChangesResponse.builder()
+                .since(42L).version(43L).hasMore(false).data(List.of(deleted)).links(sampleLinks).build()));
+
+        mockMvc.perform(get("/api/v1/salaries/changes").param("since", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(43))
+                .andExpect(jsonPath("$.data[0].salaryId").value(7))
+                .andExpect(jsonPath("$.data[0].change").value("deleted"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/changes - Negative Version")
+    void getChanges_WithNegativeVersion_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/export - Streams NDJSON")
+    void exportSalaries_WithDefaultFormat_StreamsNdjson() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        verify(salaryExportService).exportSalaries(eq(SalaryExportService.FORMAT_NDJSON), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/aggregates - By Month")
+    void getAggregates_ByMonth_ReturnsGroups() throws Exception {
+        SalaryAggregate january = SalaryAggregate.builder()
+                .key("2024-01").total(new BigDecimal("9000.00")).average(new BigDecimal("4500.00")).count(2).build();
+        when(salaryAggregateService.getAggregates(SalaryAggregateService.GROUP_BY_MONTH)).thenReturn(ResponseEntity.ok(
+                SalaryAggregatesResponse.builder().groupBy("month").data(List.of(january)).links(sampleLinks).build()));
+
+        mockMvc.perform(get("/api/v1/salaries/aggregates").param("groupBy", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].key").value("2024-01"))
+                .andExpect(jsonPath("$.data[0].count").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/aggregates - Unknown Grouping")
+    void getAggregates_WithUnknownGrouping_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/aggregates").param("groupBy", "year"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/search - Suggestions")
+    void searchEmployees_ReturnsSuggestions() throws Exception {
+        EmployeeSuggestion suggestion = EmployeeSuggestion.builder().employee("John Doe").salaryCount(3).match("prefix").build();
+        when(salarySearchService.searchEmployees("jo", 5)).thenReturn(ResponseEntity.ok(
+                EmployeeSearchResponse.builder().query("jo").data(List.of(suggestion)).links(sampleLinks).build()));
+
+        mockMvc.perform(get("/api/v1/salaries/search").param("q", "jo").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].employee").value("John Doe"))
+                .andExpect(jsonPath("$.data[0].match").value("prefix"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/salaries/search - Blank Query")
+    void searchEmployees_WithBlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/salaries/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /api/v1/salaries/add - Success")
     void addSalary_WithValidRequest_ReturnsSalaryResponse() throws Exception {
@@ -118,11 +307,42 @@ class SalaryControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/salaries/batch - Success")
+    void addSalaries_WithValidRequests_ReturnsCreatedSalaries() throws Exception {
+        SalariesResponseWrapper wrapper = new SalariesResponseWrapper(List.of(sampleSalaryResponse), sampleLinks);
+        when(salaryService.addSalaries(any())).thenReturn(ResponseEntity.status(201).body(wrapper));
+
+        mockMvc.perform(post("/api/v1/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validSalaryRequest, validSalaryRequest))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data[0].salaryId").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/salaries/batch - Validation Error")
+    void addSalaries_WithInvalidRequest_ReturnsBadRequest() throws Exception {
+        SalaryRequest invalidRequest = new SalaryRequest();
+        invalidRequest.setEmployee("");
+        invalidRequest.setSalary(new BigDecimal("-1000"));
+
+        mockMvc.perform(post("/api/v1/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validSalaryRequest, invalidRequest))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/salaries/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PATCH /api/v1/salaries/edit/{id} - Success")
     void editSalary_WithValidRequest_ReturnsSalaryResponse() throws Exception {
         Long salaryId = 1L;
-        when(salaryService.editSalary(eq(salaryId), any(SalaryRequest.class)))
+        when(salaryService.editSalary(eq(salaryId), any(SalaryRequest.class), isNull()))
                 .thenReturn(ResponseEntity.ok(sampleSalaryResponse));
 
         mockMvc.perform(patch("/api/v1/salaries/edit/" + salaryId)
@@ -139,7 +359,7 @@ class SalaryControllerTest {
         Long salaryId = 1L;
         List<SalaryResponse> updatedSalaries = List.of(); // Empty list after deletion
         SalariesResponseWrapper wrapper = new SalariesResponseWrapper(updatedSalaries, sampleLinks);
-        when(salaryService.deleteSalary(salaryId)).thenReturn(ResponseEntity.ok(wrapper));
+        when(salaryService.deleteSalary(salaryId, null)).thenReturn(ResponseEntity.ok(wrapper));
 
         mockMvc.perform(delete("/api/v1/salaries/delete/" + salaryId))
                 .andExpect(status().isOk())
@@ -147,6 +367,39 @@ class SalaryControllerTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
+    @Test
+    @DisplayName("PATCH /api/v1/salaries/edit/{id} - If-Match")
+    void editSalary_WithIfMatch_PassesTheExpectedVersion() throws Exception {
+        when(salaryService.editSalary(eq(1L), any(SalaryRequest.class), eq(3L)))
+                .thenReturn(ResponseEntity.status(HttpStatus.CONFLICT).body(sampleSalaryResponse));
+
+        mockMvc.perform(patch("/api/v1/salaries/edit/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validSalaryRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/salaries/delete/{id} - Weak If-Match")
+    void deleteSalary_WithWeakIfMatch_ReturnsPreconditionFailed() throws Exception {
+        mockMvc.perform(delete("/api/v1/salaries/delete/1").header(HttpHeaders.IF_MATCH, "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/v1/salaries/delete/1").header(HttpHeaders.IF_MATCH, "\"abc\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(salaryService, never()).deleteSalary(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/salaries/delete/{id} - If-Match List")
+    void deleteSalary_WithIfMatchList_PassesItsStrongVersion() throws Exception {
+        when(salaryService.deleteSalary(1L, 3L)).thenReturn(ResponseEntity.ok(new SalariesResponseWrapper(List.of(), sampleLinks)));
+
+        mockMvc.perform(delete("/api/v1/salaries/delete/1").header(HttpHeaders.IF_MATCH, "W/\"2\", \"3\""))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("PATCH /api/v1/salaries/edit/{id} - Invalid ID Format")
     void editSalary_WithInvalidIdFormat_ReturnsBadRequest() throws Exception {
@@ -163,4 +416,43 @@ class SalaryControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/v1/salaries/bulk-delete - Success")
+    void deleteSalaries_WithEmployeeFilter_ReturnsAffectedCounts() throws Exception {
+        when(salaryBulkService.deleteSalaries(any(SalarySelectionRequest.class)))
+                .thenReturn(ResponseEntity.ok(SalaryBulkResponse.builder().affectedRows(3).affectedEmployees(1).build()));
+
+        mockMvc.perform(post("/api/v1/salaries/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employee\":\" John Doe \",\"from\":\"2024-01-01T00:00:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affectedRows").value(3))
+                .andExpect(jsonPath("$.affectedEmployees").value(1));
+
+        verify(salaryBulkService).deleteSalaries(argThat(request -> "John Doe".equals(request.getEmployee())
+                && request.getFrom().equals(LocalDateTime.of(2024, 1, 1, 0, 0)) && request.getTo() == null));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/salaries/bulk-delete - Empty Selection")
+    void deleteSalaries_WithoutCriteria_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/salaries/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(salaryBulkService, never()).deleteSalaries(any());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/salaries/bulk-edit - Ambiguous Salary Change")
+    void editSalaries_WithSalaryAndAdjustment_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/salaries/bulk-edit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"salary\":100,\"salaryAdjustment\":10}"))
+                .andExpect(status().isBadRequest());
+
+        verify(salaryBulkService, never()).editSalaries(any(SalaryBulkEditRequest.class));
+    }
+}
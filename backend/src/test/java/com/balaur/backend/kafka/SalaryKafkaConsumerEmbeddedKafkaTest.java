@@ -0,0 +1,109 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.config.KafkaConfig;
+import com.balaur.backend.config.RedisConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = {KafkaConfig.class, SalaryKafkaConsumer.class, SalaryKafkaConsumerEmbeddedKafkaTest.TestConfig.class},
+        properties = {
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.group-id=salary-consumer-test",
+                "spring.kafka.consumer.auto-offset-reset=earliest",
+                "salaries.kafka.consumer.retry-attempts=0",
+                "salaries.kafka.consumer.retry-interval=PT0S"
+        })
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 3, topics = {SalaryKafkaProducer.TOPIC, SalaryKafkaProducer.TOPIC + KafkaConfig.DEAD_LETTER_SUFFIX})
+class SalaryKafkaConsumerEmbeddedKafkaTest {
+    private static final List<SalaryEvent> HANDLED = new CopyOnWriteArrayList<>();
+    private static final CountDownLatch HANDLED_LATCH = new CountDownLatch(2);
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void validEventsAreHandledAndPoisonMessagesGoToTheDeadLetterTopic() throws Exception {
+        kafkaTemplate.send(SalaryKafkaProducer.TOPIC, "1", objectMapper.writeValueAsString(event(1L)));
+        kafkaTemplate.send(SalaryKafkaProducer.TOPIC, "2", "not json");
+        kafkaTemplate.send(SalaryKafkaProducer.TOPIC, "3", objectMapper.writeValueAsString(event(3L)));
+
+        assertTrue(HANDLED_LATCH.await(30, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 3L), HANDLED.stream().map(SalaryEvent::getSalaryId).sorted().toList());
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("salary-dlt-test", "false", embeddedKafka);
+        consumerProps.put("auto.offset.reset", "earliest");
+        try (Consumer<String, String> dltConsumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new org.apache.kafka.common.serialization.StringDeserializer(),
+                new org.apache.kafka.common.serialization.StringDeserializer()).createConsumer()) {
+            String deadLetterTopic = SalaryKafkaProducer.TOPIC + KafkaConfig.DEAD_LETTER_SUFFIX;
+            embeddedKafka.consumeFromAnEmbeddedTopic(dltConsumer, deadLetterTopic);
+
+            ConsumerRecord<String, String> poison = KafkaTestUtils.getSingleRecord(dltConsumer, deadLetterTopic, Duration.ofSeconds(30));
+            assertEquals("2", poison.key());
+            assertEquals("not json", poison.value());
+        }
+    }
+
+    private static SalaryEvent event(Long salaryId) {
+        return SalaryEvent.builder()
+                .eventType(SalaryEventType.CREATED)
+                .salaryId(salaryId)
+                .salary(BigDecimal.TEN)
+                .employee("John Doe")
+                .build();
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new RedisConfig().objectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        SalaryEventHandler recordingHandler() {
+            return event -> {
+                HANDLED.add(event);
+                HANDLED_LATCH.countDown();
+            };
+        }
+    }
+}
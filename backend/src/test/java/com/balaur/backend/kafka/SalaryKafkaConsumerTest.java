@@ -0,0 +1,118 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.config.RedisConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryKafkaConsumerTest {
+    private ObjectMapper objectMapper;
+    private List<SalaryEvent> handled;
+    private SalaryKafkaConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new RedisConfig().objectMapper();
+        handled = Collections.synchronizedList(new ArrayList<>());
+        consumer = new SalaryKafkaConsumer(objectMapper, List.of(handled::add), new SimpleMeterRegistry(), 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.shutdown();
+    }
+
+    @Test
+    void consumeSalaryMessages_HandlesEveryPartitionInOrder() throws Exception {
+        consumer.consumeSalaryMessages(List.of(
+                record(0, 0, event(1L, "1000")),
+                record(1, 0, event(2L, "2000")),
+                record(0, 1, event(1L, "1100")),
+                record(1, 1, event(2L, "2100"))));
+
+        assertEquals(4, handled.size());
+        List<String> firstSalary = handled.stream().filter(e -> e.getSalaryId() == 1L)
+                .map(e -> e.getSalary().toPlainString()).toList();
+        assertEquals(List.of("1000", "1100"), firstSalary);
+    }
+
+    @Test
+    void consumeSalaryMessages_WhenRecordIsPoison_HandlesTheRecordsBeforeItAndFailsAtItsIndex() throws Exception {
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, 0, event(1L, "1000")),
+                new ConsumerRecord<>(SalaryKafkaProducer.TOPIC, 1, 0, "2", "not json"),
+                record(0, 1, event(1L, "1100")));
+
+        BatchListenerFailedException failure =
+                assertThrows(BatchListenerFailedException.class, () -> consumer.consumeSalaryMessages(records));
+
+        assertEquals(1, failure.getIndex());
+        assertEquals(1, handled.size());
+        assertEquals(1L, handled.getFirst().getSalaryId());
+    }
+
+    @Test
+    void consumeSalaryMessages_WhenHandlerFails_ReportsTheEarliestFailedRecord() throws Exception {
+        SalaryKafkaConsumer failingConsumer = new SalaryKafkaConsumer(objectMapper, List.of(event -> {
+            if (event.getSalary().signum() < 0) {
+                throw new IllegalArgumentException("negative salary");
+            }
+        }), new SimpleMeterRegistry(), 2, false);
+
+        try {
+            List<ConsumerRecord<String, String>> records = List.of(
+                    record(0, 0, event(1L, "1000")),
+                    record(1, 0, event(2L, "-1")),
+                    record(0, 1, event(1L, "-5")));
+
+            BatchListenerFailedException failure =
+                    assertThrows(BatchListenerFailedException.class, () -> failingConsumer.consumeSalaryMessages(records));
+
+            assertEquals(1, failure.getIndex());
+        } finally {
+            failingConsumer.shutdown();
+        }
+    }
+
+    @Test
+    void consumeSalaryMessages_WithVirtualThreads_HandlesPartitionsOnVirtualThreads() throws Exception {
+        List<Boolean> virtual = Collections.synchronizedList(new ArrayList<>());
+        SalaryKafkaConsumer virtualConsumer = new SalaryKafkaConsumer(objectMapper,
+                List.of(event -> virtual.add(Thread.currentThread().isVirtual())), new SimpleMeterRegistry(), 2, true);
+
+        try {
+            virtualConsumer.consumeSalaryMessages(List.of(
+                    record(0, 0, event(1L, "1000")),
+                    record(1, 0, event(2L, "2000"))));
+
+            assertEquals(List.of(true, true), virtual);
+        } finally {
+            virtualConsumer.shutdown();
+        }
+    }
+
+    private ConsumerRecord<String, String> record(int partition, long offset, SalaryEvent event) throws Exception {
+        return new ConsumerRecord<>(SalaryKafkaProducer.TOPIC, partition, offset,
+                String.valueOf(event.getSalaryId()), objectMapper.writeValueAsString(event));
+    }
+
+    private static SalaryEvent event(Long salaryId, String salary) {
+        return SalaryEvent.builder()
+                .eventType(SalaryEventType.UPDATED)
+                .salaryId(salaryId)
+                .salary(new BigDecimal(salary))
+                .employee("John Doe")
+                .build();
+    }
+}
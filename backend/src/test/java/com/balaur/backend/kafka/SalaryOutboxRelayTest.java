@@ -0,0 +1,80 @@
+package com.balaur.backend.kafka;
+
+import com.balaur.backend.models.SalaryOutboxEvent;
+import com.balaur.backend.repositories.SalaryOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryOutboxRelayTest {
+    @Mock
+    private SalaryOutboxRepository salaryOutboxRepository;
+
+    @Mock
+    private SalaryKafkaProducer salaryKafkaProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SalaryOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new SalaryOutboxRelay(salaryOutboxRepository, salaryKafkaProducer, transactionTemplate, 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        lenient().when(salaryOutboxRepository.tryLockRelay()).thenReturn(true);
+    }
+
+    @Test
+    void relay_DrainsFullBatchesUntilTheOutboxIsEmpty() {
+        List<SalaryOutboxEvent> firstBatch = List.of(event(1L), event(2L));
+        List<SalaryOutboxEvent> lastBatch = List.of(event(3L));
+        when(salaryOutboxRepository.findNextBatch(2)).thenReturn(firstBatch).thenReturn(lastBatch);
+
+        relay.relay();
+
+        verify(salaryKafkaProducer).sendSalaryEvents(firstBatch);
+        verify(salaryKafkaProducer).sendSalaryEvents(lastBatch);
+        verify(salaryOutboxRepository).deleteAllInBatch(firstBatch);
+        verify(salaryOutboxRepository).deleteAllInBatch(lastBatch);
+    }
+
+    @Test
+    void relay_WhenSendFails_KeepsTheBatchForTheNextRun() {
+        List<SalaryOutboxEvent> batch = List.of(event(1L));
+        when(salaryOutboxRepository.findNextBatch(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("broker down")).when(salaryKafkaProducer).sendSalaryEvents(batch);
+
+        relay.relay();
+
+        verify(salaryOutboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void relayNextBatch_WhenAnotherReplicaHoldsTheLock_DoesNothing() {
+        when(salaryOutboxRepository.tryLockRelay()).thenReturn(false);
+
+        assertEquals(0, relay.relayNextBatch());
+
+        verify(salaryOutboxRepository, never()).findNextBatch(anyInt());
+        verifyNoInteractions(salaryKafkaProducer);
+    }
+
+    private static SalaryOutboxEvent event(Long salaryId) {
+        return new SalaryOutboxEvent(salaryId, salaryId, SalaryEventType.UPDATED.name(), "{}", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,69 @@
+package com.balaur.backend.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies of one request type. Every sample is kept, so percentiles are exact; a run at a few thousand requests
+ * per second for a few minutes is well within what an array of longs can hold.
+ */
+class LatencyRecorder {
+    // Upper bounds of the reported histogram buckets, in milliseconds
+    private static final long[] BUCKETS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        int index = 0;
+        for (long bucketMillis : BUCKETS_MILLIS) {
+            long bucketCount = 0;
+            while (index < sorted.length && sorted[index] <= bucketMillis * 1_000_000) {
+                bucketCount++;
+                index++;
+            }
+            histogram.put("<=" + bucketMillis + "ms", bucketCount);
+        }
+        histogram.put(">" + BUCKETS_MILLIS[BUCKETS_MILLIS.length - 1] + "ms", (long) (sorted.length - index));
+
+        return new Summary(count, errors, elapsedSeconds > 0 ? count / elapsedSeconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]), histogram);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return millis(sorted[Math.max(0, index)]);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * Latencies in milliseconds, throughput in requests per second.
+     */
+    record Summary(long count, long errors, double throughput, double p50, double p90, double p99, double p999,
+                   double max, Map<String, Long> histogram) {
+    }
+}
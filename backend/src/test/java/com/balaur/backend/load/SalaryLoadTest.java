@@ -0,0 +1,335 @@
+package com.balaur.backend.load;
+
+import com.balaur.backend.config.KafkaConfig;
+import com.balaur.backend.kafka.SalaryKafkaProducer;
+import com.balaur.backend.requests.SalaryRequest;
+import com.balaur.backend.responses.SalariesResponseWrapper;
+import com.balaur.backend.responses.SalaryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of {@code SalaryController}: boots the whole backend against embedded Postgres, Redis and
+ * Kafka, seeds salaries and then sends list, add, edit and delete requests at a fixed arrival rate. Requests are
+ * started on schedule whether or not earlier ones have finished, and latency is measured from the scheduled start,
+ * so a stalled backend shows up in the percentiles instead of just lowering the rate.
+ * <p>
+ * Excluded from the normal build, run with
+ * {@code mvn test -Pload-test -Dtest=SalaryLoadTest -Dload.rate=200 -Dload.duration=PT30S}. Other settings:
+ * {@code load.mix} (weights, default {@value #DEFAULT_MIX}), {@code load.seed-salaries}, {@code load.warmup},
+ * {@code load.label} (e.g. the commit) and {@code load.output-dir}. Each run is printed and written as JSON to
+ * {@code target/load-test/}. Adding {@code -Dspring.profiles.active=sync-logging -Dload.label=sync-logging} gives
+ * the baseline with synchronous, unsampled console logging.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=salary-load-test",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.sql.init.mode=always",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@EmbeddedKafka(partitions = 3, topics = {SalaryKafkaProducer.TOPIC, SalaryKafkaProducer.TOPIC + KafkaConfig.DEAD_LETTER_SUFFIX})
+class SalaryLoadTest {
+    private static final String DEFAULT_MIX = "list:70,add:10,edit:15,delete:5";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static EmbeddedPostgres postgres;
+    private static RedisServer redisServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private HttpClient httpClient;
+    // Ids of salaries that exist, edits pick from them, adds and deletes keep them current
+    private final List<Long> salaryIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        int redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> redisPort);
+    }
+
+    @AfterAll
+    static void stopInfrastructure() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void runLoad() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "100"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+        int seedSalaries = Integer.parseInt(System.getProperty("load.seed-salaries", "10000"));
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            httpClient = HttpClient.newBuilder().executor(executor).connectTimeout(REQUEST_TIMEOUT).build();
+            seed(seedSalaries);
+
+            // Fills the caches and the JIT, not reported
+            drive(executor, rate, warmup, mix);
+            Run run = drive(executor, rate, duration, mix);
+
+            Map<String, Object> report = report(run, rate, duration, seedSalaries, mix);
+            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            Path output = Path.of(System.getProperty("load.output-dir", "target/load-test"))
+                    .resolve("salary-load-" + Instant.now().toEpochMilli() + ".json");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, json);
+
+            System.out.println(json);
+            System.out.println("Load test report written to " + output.toAbsolutePath());
+            assertTrue(run.total().summarize(run.elapsedSeconds()).count() > 0);
+            assertEquals(0, run.dropped());
+        }
+    }
+
+    private void seed(int count) throws Exception {
+        for (int seeded = 0; seeded < count; seeded += SEED_BATCH_SIZE) {
+            List<SalaryRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = 0; i < Math.min(SEED_BATCH_SIZE, count - seeded); i++) {
+                batch.add(randomSalary());
+            }
+
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch))));
+            assertEquals(201, response.statusCode(), response.body());
+            for (SalaryResponse salary : objectMapper.readValue(response.body(), SalariesResponseWrapper.class).getData()) {
+                salaryIds.add(salary.getSalaryId());
+            }
+        }
+    }
+
+    private Run drive(ExecutorService executor, double rate, Duration duration, Map<Operation, Integer> mix) {
+        Map<Operation, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        LatencyRecorder total = new LatencyRecorder();
+        AtomicInteger inFlight = new AtomicInteger();
+        int dropped = 0;
+
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long requests = (long) (duration.toNanos() / (double) intervalNanos);
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduledAt = start + i * intervalNanos;
+            LockSupport.parkNanos(scheduledAt - System.nanoTime());
+
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                // The backend has fallen too far behind, counting every request it would get is pointless
+                dropped++;
+                continue;
+            }
+
+            Operation operation = pick(mix);
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                boolean success = false;
+                try {
+                    success = execute(operation);
+                } catch (Exception e) {
+                    // Counted as an error below
+                } finally {
+                    long latency = System.nanoTime() - scheduledAt;
+                    recorders.get(operation).record(latency, success);
+                    total.record(latency, success);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+        return new Run(recorders, total, dropped, (System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private boolean execute(Operation operation) throws Exception {
+        return switch (operation) {
+            case LIST -> {
+                Long after = randomSalaryId();
+                String query = after == null || ThreadLocalRandom.current().nextBoolean() ? "" : "?after=" + after;
+                yield isSuccess(send(HttpRequest.newBuilder(uri("/" + query)).GET()));
+            }
+            case ADD -> {
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/add"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomSalary()))));
+                if (!isSuccess(response)) {
+                    yield false;
+                }
+                addSalaryId(objectMapper.readValue(response.body(), SalaryResponse.class).getSalaryId());
+                yield true;
+            }
+            case EDIT -> {
+                Long id = randomSalaryId();
+                yield id != null && isSuccess(send(HttpRequest.newBuilder(uri("/edit/" + id))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomSalary())))));
+            }
+            case DELETE -> {
+                Long id = takeSalaryId();
+                yield id != null && isSuccess(send(HttpRequest.newBuilder(uri("/delete/" + id)).DELETE()));
+            }
+        };
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1/salaries" + path);
+    }
+
+    private synchronized Long randomSalaryId() {
+        return salaryIds.isEmpty() ? null : salaryIds.get(ThreadLocalRandom.current().nextInt(salaryIds.size()));
+    }
+
+    private synchronized Long takeSalaryId() {
+        if (salaryIds.isEmpty()) {
+            return null;
+        }
+
+        int index = ThreadLocalRandom.current().nextInt(salaryIds.size());
+        // Swap with the last id, so removing doesn't shift the list
+        Long id = salaryIds.get(index);
+        salaryIds.set(index, salaryIds.getLast());
+        salaryIds.removeLast();
+        return id;
+    }
+
+    private synchronized void addSalaryId(Long id) {
+        salaryIds.add(id);
+    }
+
+    private static SalaryRequest randomSalary() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new SalaryRequest("Employee " + random.nextInt(1000),
+                BigDecimal.valueOf(random.nextLong(100_000, 1_000_000), 2),
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(random.nextInt(365)));
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty request mix");
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split(":");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private Map<String, Object> report(Run run, double rate, Duration duration, int seedSalaries,
+                                              Map<Operation, Integer> mix) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rate", rate);
+        config.put("durationSeconds", duration.toSeconds());
+        config.put("seedSalaries", seedSalaries);
+        config.put("mix", mix);
+        config.put("virtualThreads", virtualThreads);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        run.recorders().forEach((operation, recorder) ->
+                operations.put(operation.name().toLowerCase(), recorder.summarize(run.elapsedSeconds())));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", System.getProperty("load.label", System.getenv().getOrDefault("GIT_COMMIT", "local")));
+        report.put("startedAt", Instant.now().minusSeconds((long) run.elapsedSeconds()).toString());
+        report.put("config", config);
+        report.put("elapsedSeconds", run.elapsedSeconds());
+        report.put("dropped", run.dropped());
+        report.put("total", run.total().summarize(run.elapsedSeconds()));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private enum Operation {
+        LIST, ADD, EDIT, DELETE
+    }
+
+    private record Run(Map<Operation, LatencyRecorder> recorders, LatencyRecorder total, int dropped,
+                       double elapsedSeconds) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.balaur.backend.responses;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkUtilsTest {
+    @Test
+    void generateLinks_MatchesTheTemplateRendering() {
+        for (String method : List.of("get", "add", "edit", "delete", "PATCH")) {
+            assertLinksEqual(templateRenderedLinks(method, "v1", "42"), LinkUtils.generateLinks(method, "v1", "42"));
+        }
+    }
+
+    @Test
+    void generateLinks_SharesTheLinksThatDontDependOnTheId() {
+        List<Link> first = LinkUtils.generateLinks("get", "v1", "1");
+        List<Link> second = LinkUtils.generateLinks("get", "v1", "2");
+
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertEquals("/api/v1/salaries/edit/2", second.get(2).getHref());
+    }
+
+    @Test
+    void generateLinkTemplates_KeepsTheIdPlaceholder() {
+        List<Link> templates = LinkUtils.generateLinkTemplates("v1");
+
+        assertEquals(List.of("/api/v1/salaries/edit/{id}", "/api/v1/salaries/delete/{id}"),
+                templates.stream().map(Link::getHref).toList());
+        assertSame(templates, LinkUtils.generateLinkTemplates("v1"));
+    }
+
+    // The rendering generateLinks used before: four template links and a stream per row, then four copies
+    private static List<Link> templateRenderedLinks(String method, String version, String id) {
+        List<Link> links = List.of(
+                new Link("get", "/api/" + version + "/salaries", "GET", version),
+                new Link("add", "/api/" + version + "/salaries/add", "POST", version),
+                new Link("edit", "/api/" + version + "/salaries/edit/{id}", "PATCH", version),
+                new Link("delete", "/api/" + version + "/salaries/delete/{id}", "DELETE", version)
+        );
+
+        return links.stream()
+                .map(link -> {
+                    String href = link.getHref().replace("{id}", id);
+                    String rel = link.getMethod().equalsIgnoreCase(method) ? "self" : link.getRel();
+
+                    return new Link(rel, href, link.getMethod(), link.getVersion());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static void assertLinksEqual(List<Link> expected, List<Link> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getRel(), actual.get(i).getRel());
+            assertEquals(expected.get(i).getHref(), actual.get(i).getHref());
+            assertEquals(expected.get(i).getMethod(), actual.get(i).getMethod());
+            assertEquals(expected.get(i).getVersion(), actual.get(i).getVersion());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.balaur.backend.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class EmployeeSearchIndexTest {
+    private RedisTemplate<String, Object> redisTemplate;
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        index = new EmployeeSearchIndex(redisTemplate, new ObjectMapper(), mock(JdbcTemplate.class));
+        index.replaceAll(Map.of(
+                "John Doe", 3L,
+                "Johnny Cash", 7L,
+                "Jane Doe", 1L,
+                "Ștefan Popescu", 2L));
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenWordMatches() {
+        index.apply(Map.of("John", 1L));
+
+        assertEquals(List.of("John", "Johnny Cash", "John Doe"), employees(index.search("john", 10)));
+        // Same match type: more salaries first
+        assertEquals(List.of("John Doe", "Jane Doe"), employees(index.search("DOE", 10)));
+        assertEquals(EmployeeSearchIndex.MatchType.WORD, index.search("doe", 1).getFirst().type());
+    }
+
+    @Test
+    void search_IgnoresAccentsAndFindsTypos() {
+        assertEquals(List.of("Ștefan Popescu"), employees(index.search("stefan", 10)));
+
+        List<EmployeeSearchIndex.Match> typo = index.search("popsecu", 10);
+        assertEquals("Ștefan Popescu", typo.getFirst().employee());
+        assertEquals(EmployeeSearchIndex.MatchType.FUZZY, typo.getFirst().type());
+    }
+
+    @Test
+    void salarySavedAndDeleted_KeepNamesInSyncAndBroadcast() {
+        index.salarySaved("Maria Ionescu", null, true);
+        assertEquals(List.of("Maria Ionescu"), employees(index.search("mar", 10)));
+
+        // Moving Jane Doe's only salary to another employee removes her name
+        index.salarySaved("Jane Smith", "Jane Doe", false);
+        assertEquals(List.of("Jane Smith"), employees(index.search("jane", 10)));
+
+        index.salaryDeleted("Maria Ionescu");
+        assertTrue(index.search("maria", 10).isEmpty());
+
+        verify(redisTemplate, org.mockito.Mockito.times(3)).convertAndSend(eq(EmployeeSearchIndex.CHANGES_CHANNEL), anyString());
+    }
+
+    private static List<String> employees(List<EmployeeSearchIndex.Match> matches) {
+        return matches.stream().map(EmployeeSearchIndex.Match::employee).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.kafka.SalaryEvent;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.responses.SalaryAggregate;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalaryAggregateServiceEmbeddedPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private SalaryAggregateService salaryAggregateService;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE salary_aggregate_members, salary_aggregates");
+        salaryAggregateService = new SalaryAggregateService(jdbcTemplate);
+    }
+
+    @Test
+    void handle_KeepsEmployeeAndMonthGroupsCurrent() {
+        salaryAggregateService.handle(event(SalaryEventType.CREATED, 1L, "5000.00", "John Doe", 1));
+        salaryAggregateService.handle(event(SalaryEventType.CREATED, 2L, "4000.00", "John Doe", 1));
+        salaryAggregateService.handle(event(SalaryEventType.CREATED, 3L, "3000.00", "Jane Doe", 2));
+
+        assertAggregates(SalaryAggregateService.GROUP_BY_EMPLOYEE, List.of(
+                "Jane Doe=3000.00/3000.00/1", "John Doe=9000.00/4500.00/2"));
+        assertAggregates(SalaryAggregateService.GROUP_BY_MONTH, List.of(
+                "2024-01=9000.00/4500.00/2", "2024-02=3000.00/3000.00/1"));
+    }
+
+    @Test
+    void handle_WhenEditMovesSalaryToAnotherMonthAndEmployee_MovesItsContribution() {
+        salaryAggregateService.handle(event(SalaryEventType.CREATED, 1L, "5000.00", "John Doe", 1));
+        salaryAggregateService.handle(event(SalaryEventType.UPDATED, 1L, "5500", "Jane Doe", 3));
+
+        assertAggregates(SalaryAggregateService.GROUP_BY_EMPLOYEE, List.of("Jane Doe=5500.00/5500.00/1"));
+        assertAggregates(SalaryAggregateService.GROUP_BY_MONTH, List.of("2024-03=5500.00/5500.00/1"));
+    }
+
+    @Test
+    void handle_WhenEventsAreRedelivered_DoesNotCountThemTwice() {
+        SalaryEvent created = event(SalaryEventType.CREATED, 1L, "5000.00", "John Doe", 1);
+        SalaryEvent deleted = event(SalaryEventType.DELETED, 1L, "5000.00", "John Doe", 1);
+        salaryAggregateService.handle(event(SalaryEventType.CREATED, 2L, "1000.00", "John Doe", 1));
+
+        salaryAggregateService.handle(created);
+        salaryAggregateService.handle(created);
+        assertAggregates(SalaryAggregateService.GROUP_BY_EMPLOYEE, List.of("John Doe=6000.00/3000.00/2"));
+
+        salaryAggregateService.handle(deleted);
+        salaryAggregateService.handle(deleted);
+        assertAggregates(SalaryAggregateService.GROUP_BY_EMPLOYEE, List.of("John Doe=1000.00/1000.00/1"));
+        assertAggregates(SalaryAggregateService.GROUP_BY_MONTH, List.of("2024-01=1000.00/1000.00/1"));
+    }
+
+    private void assertAggregates(String groupBy, List<String> expected) {
+        List<SalaryAggregate> aggregates = salaryAggregateService.getAggregates(groupBy).getBody().getData();
+        assertEquals(expected, aggregates.stream()
+                .map(a -> a.getKey() + "=" + a.getTotal() + "/" + a.getAverage() + "/" + a.getCount())
+                .toList());
+    }
+
+    private static SalaryEvent event(SalaryEventType type, Long salaryId, String salary, String employee, int month) {
+        return SalaryEvent.builder()
+                .eventType(type)
+                .salaryId(salaryId)
+                .salary(new BigDecimal(salary))
+                .employee(employee)
+                .salaryDate(LocalDateTime.of(2024, month, 15, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.requests.SalaryBulkEditRequest;
+import com.balaur.backend.requests.SalarySelectionRequest;
+import com.balaur.backend.responses.SalaryBulkResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SalaryBulkServiceEmbeddedPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private SalaryCache salaryCache;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private SalaryChangeLog salaryChangeLog;
+    private SalaryBulkService salaryBulkService;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        salaryCache = mock(SalaryCache.class);
+        employeeSearchIndex = mock(EmployeeSearchIndex.class);
+        salaryChangeLog = mock(SalaryChangeLog.class);
+        salaryBulkService = new SalaryBulkService(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                salaryCache, employeeSearchIndex, salaryChangeLog);
+
+        jdbcTemplate.execute("TRUNCATE salaries, salary_outbox, salary_changes");
+        for (int i = 1; i <= 10; i++) {
+            jdbcTemplate.update("INSERT INTO salaries (id, employee, salary, salary_date) VALUES (?, ?, 1000.00, ?)",
+                    i, i % 2 == 0 ? "John Doe" : "Jane Doe", LocalDateTime.of(2024, i, 1, 12, 0));
+        }
+    }
+
+    @Test
+    void deleteSalaries_ByEmployeeAndDateRange_DeletesInOneStatementAndWritesEvents() {
+        SalarySelectionRequest request = new SalarySelectionRequest();
+        request.setEmployee("John Doe");
+        request.setFrom(LocalDateTime.of(2024, 3, 1, 0, 0));
+        request.setTo(LocalDateTime.of(2024, 9, 1, 0, 0));
+
+        ResponseEntity<SalaryBulkResponse> response = salaryBulkService.deleteSalaries(request);
+
+        // Ids 4, 6 and 8
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getAffectedRows());
+        assertEquals(1, response.getBody().getAffectedEmployees());
+        assertEquals(7, jdbcTemplate.queryForObject("SELECT count(*) FROM salaries", Long.class));
+        assertEquals(List.of(4L, 6L, 8L), jdbcTemplate.queryForList(
+                "SELECT salary_id FROM salary_outbox WHERE event_type = 'DELETED' ORDER BY salary_id", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_changes WHERE change_type = 'DELETED'", Long.class));
+        verify(salaryCache, times(1)).invalidateAll();
+        verify(employeeSearchIndex).salariesDeleted(Map.of("John Doe", 3L));
+        verify(salaryChangeLog).publishChanges();
+    }
+
+    @Test
+    void deleteSalaries_WhenNothingMatches_LeavesCachesAlone() {
+        SalarySelectionRequest request = new SalarySelectionRequest();
+        request.setIds(List.of(100L, 101L));
+
+        ResponseEntity<SalaryBulkResponse> response = salaryBulkService.deleteSalaries(request);
+
+        assertEquals(0, response.getBody().getAffectedRows());
+        verify(salaryCache, never()).invalidateAll();
+        verify(salaryChangeLog, never()).publishChanges();
+    }
+
+    @Test
+    void editSalaries_ByIds_AdjustsSalariesAndReassignsEmployee() {
+        SalaryBulkEditRequest request = new SalaryBulkEditRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+        request.setSalaryAdjustment(new BigDecimal("250.50"));
+        request.setNewEmployee("Jack Doe");
+
+        ResponseEntity<SalaryBulkResponse> response = salaryBulkService.editSalaries(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().getAffectedRows());
+        assertEquals(2, response.getBody().getAffectedEmployees());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM salaries WHERE employee = 'Jack Doe' AND salary = 1250.50 AND version = 1", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_outbox WHERE event_type = 'UPDATED'", Long.class));
+        verify(salaryCache, times(1)).invalidateAll();
+        verify(employeeSearchIndex).salariesReassigned(Map.of("Jane Doe", 2L, "John Doe", 1L), "Jack Doe");
+        verify(salaryChangeLog).publishChanges();
+    }
+
+    @Test
+    void editSalaries_WhenAdjustmentLeavesSalaryAtZero_EditsNothing() {
+        SalaryBulkEditRequest request = new SalaryBulkEditRequest();
+        request.setEmployee("Jane Doe");
+        request.setSalaryAdjustment(new BigDecimal("-1000.00"));
+
+        ResponseEntity<SalaryBulkResponse> response = salaryBulkService.editSalaries(request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT count(*) FROM salaries WHERE salary = 1000.00", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_outbox", Long.class));
+        verify(salaryCache, never()).invalidateAll();
+        verify(employeeSearchIndex, never()).salariesReassigned(any(), anyString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryExportServiceTest {
+    @Mock
+    private SalaryRepository salaryRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private SalaryExportService salaryExportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        salaryExportService = new SalaryExportService(salaryRepository, entityManager, objectMapper, null);
+
+        when(salaryRepository.streamAllOrderedById()).thenReturn(Stream.of(
+                new Salary(1L, new BigDecimal("5000.00"), "John Doe", LocalDateTime.of(2024, 1, 31, 12, 0, 30), 0L),
+                new Salary(2L, new BigDecimal("6000.00"), "Jane Doe", LocalDateTime.of(2024, 2, 29, 12, 0, 30), 0L)));
+    }
+
+    @Test
+    void exportSalaries_AsNdjson_WritesOneObjectPerLineWithoutSeparators() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = salaryExportService.exportSalaries(SalaryExportService.FORMAT_NDJSON, out);
+
+        assertEquals(2, rows);
+        assertArrayEquals("""
+                {"salaryId":1,"salary":5000.00,"employee":"John Doe","salaryDate":"2024-01-31T12:00:30"}
+                {"salaryId":2,"salary":6000.00,"employee":"Jane Doe","salaryDate":"2024-02-29T12:00:30"}
+                """.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        verify(entityManager, times(2)).detach(any(Salary.class));
+    }
+
+    @Test
+    void exportSalaries_AsJson_WritesOneArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        salaryExportService.exportSalaries(SalaryExportService.FORMAT_JSON, out);
+
+        assertEquals("[{\"salaryId\":1,\"salary\":5000.00,\"employee\":\"John Doe\",\"salaryDate\":\"2024-01-31T12:00:30\"},"
+                        + "{\"salaryId\":2,\"salary\":6000.00,\"employee\":\"Jane Doe\",\"salaryDate\":\"2024-02-29T12:00:30\"}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
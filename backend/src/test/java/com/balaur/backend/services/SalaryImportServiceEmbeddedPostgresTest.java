@@ -0,0 +1,170 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.responses.SalaryImportResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SalaryImportServiceEmbeddedPostgresTest {
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SalaryCache salaryCache;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private SalaryChangeLog salaryChangeLog;
+    private SalaryImportService salaryImportService;
+
+    @BeforeAll
+    static void startPostgres() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws Exception {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        salaryCache = mock(SalaryCache.class);
+        employeeSearchIndex = mock(EmployeeSearchIndex.class);
+        salaryChangeLog = mock(SalaryChangeLog.class);
+        salaryImportService = new SalaryImportService(jdbcTemplate, transactionTemplate, salaryCache, employeeSearchIndex,
+                salaryChangeLog);
+
+        // Every import starts on a sequence nobody has called yet
+        jdbcTemplate.execute("TRUNCATE salaries, salary_outbox, salary_changes RESTART IDENTITY");
+    }
+
+    @Test
+    void importSalaries_CopiesRowsAndWritesOutboxEvents() {
+        StringBuilder csv = new StringBuilder("employee,salary,salary_date\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("Employee ").append(i).append(',').append(1000 + i).append(".50,2024-01-31T12:00:00\n");
+        }
+
+        ResponseEntity<SalaryImportResponse> response = salaryImportService.importSalaries(toStream(csv.toString()));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(120, response.getBody().getImportedRows());
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM salaries", Long.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT min(id) FROM salaries", Long.class));
+        assertEquals(120, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_outbox WHERE event_type = 'CREATED'", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM salary_outbox o LEFT JOIN salaries s ON s.id = o.salary_id WHERE s.id IS NULL", Long.class));
+        String payload = jdbcTemplate.queryForObject(
+                "SELECT payload FROM salary_outbox o JOIN salaries s ON s.id = o.salary_id WHERE s.employee = 'Employee 0'", String.class);
+        assertTrue(payload.contains("\"salaryDate\" : \"2024-01-31T12:00:00.000000\""), payload);
+        verify(salaryCache).salariesCreated(120);
+        verify(employeeSearchIndex).salariesCreated(argThat(counts -> counts.size() == 120 && counts.get("Employee 0") == 1L));
+        assertEquals(120, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM salary_changes c JOIN salaries s ON s.id = c.salary_id WHERE c.change_type = 'CREATED'", Long.class));
+        verify(salaryChangeLog).publishChanges();
+    }
+
+    @Test
+    void importSalaries_WhenRowsAreInvalid_ImportsNothingAndReportsThem() {
+        String csv = """
+                employee,salary,salary_date
+                John Doe,5000.00,2024-01-31T12:00:00
+                ,5000.00,2024-01-31T12:00:00
+                Jane Doe,-10,2024-01-31T12:00:00
+                Jack Doe,10,not a date
+                Jill Doe,10,2024-13-45T12:00:00
+                Joan Doe,10,2023-02-29T12:00:00
+                Jim Doe,10,2024-02-29T24:00:00
+                """;
+
+        ResponseEntity<SalaryImportResponse> response = salaryImportService.importSalaries(toStream(csv));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(List.of("row 2: employee", "row 3: salary", "row 4: salary_date", "row 5: salary_date", "row 6: salary_date",
+                "row 7: salary_date"), response.getBody().getErrors());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM salaries", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_outbox", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM salary_changes", Long.class));
+        verify(salaryCache, never()).salariesCreated(anyInt());
+        verify(employeeSearchIndex, never()).salariesCreated(any());
+    }
+
+    @Test
+    void importSalaries_WhenCsvIsMalformed_ReturnsBadRequest() {
+        ResponseEntity<SalaryImportResponse> response =
+                salaryImportService.importSalaries(toStream("employee,salary,salary_date\nJohn Doe,1,2024-01-01T00:00:00,extra\n"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody().getMessage());
+        assertFalse(response.getBody().getMessage().contains("COPY"), response.getBody().getMessage());
+    }
+
+    @Test
+    void exportSalaries_AsCsv_StreamsEveryRow() throws Exception {
+        jdbcTemplate.update("INSERT INTO salaries (id, employee, salary, salary_date) VALUES (1, 'John Doe', 5000.00, '2024-01-31 12:00:00')");
+        jdbcTemplate.update("INSERT INTO salaries (id, employee, salary, salary_date) VALUES (2, 'Jane, Doe', 6000.00, '2024-02-29 12:00:00')");
+        SalaryExportService exportService = new SalaryExportService(null, null, null, jdbcTemplate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportSalaries(SalaryExportService.FORMAT_CSV, out);
+
+        assertEquals(2, rows);
+        assertEquals("""
+                id,employee,salary,salary_date
+                1,John Doe,5000.00,2024-01-31 12:00:00
+                2,"Jane, Doe",6000.00,2024-02-29 12:00:00
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importSalaries_FromACsvExport_ImportsTheSalariesWithNewIds() throws Exception {
+        salaryImportService.importSalaries(toStream("""
+                employee,salary,salary_date
+                John Doe,5000.00,2024-01-31T12:00:00
+                "Jane, Doe",6000.00,2024-02-29T12:00:00.25
+                """));
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        new SalaryExportService(null, null, null, jdbcTemplate).exportSalaries(SalaryExportService.FORMAT_CSV, export);
+
+        ResponseEntity<SalaryImportResponse> response =
+                salaryImportService.importSalaries(new ByteArrayInputStream(export.toByteArray()));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, response.getBody().getImportedRows());
+        assertEquals(2, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM salaries imported
+                JOIN salaries exported ON exported.employee = imported.employee AND exported.salary = imported.salary
+                    AND exported.salary_date = imported.salary_date AND exported.id < imported.id""", Long.class));
+    }
+
+    private static ByteArrayInputStream toStream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
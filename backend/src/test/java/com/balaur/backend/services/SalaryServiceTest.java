@@ -1,33 +1,54 @@
 package com.balaur.backend.services;
 
-import com.balaur.backend.kafka.SalaryKafkaProducer;
+import com.balaur.backend.cache.RenderedSalaryPage;
+import com.balaur.backend.cache.SalaryCache;
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.config.RedisConfig;
 import com.balaur.backend.models.Salary;
 import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.repositories.SalaryWriteResult;
+import com.balaur.backend.requests.SalaryPageRequest;
 import com.balaur.backend.requests.SalaryRequest;
 import com.balaur.backend.responses.Link;
 import com.balaur.backend.responses.LinkUtils;
+import com.balaur.backend.responses.PageInfo;
 import com.balaur.backend.responses.SalariesResponseWrapper;
 import com.balaur.backend.responses.SalaryResponse;
+import com.balaur.backend.search.EmployeeSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,23 +58,29 @@ class SalaryServiceTest {
     private SalaryRepository salaryRepository;
 
     @Mock
-    private SalaryKafkaProducer salaryKafkaProducer;
+    private SalaryWriteService salaryWriteService;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private SalaryCache salaryCache;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private EmployeeSearchIndex employeeSearchIndex;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private SalaryChangeLog salaryChangeLog;
+
+    @Spy
+    private ObjectMapper objectMapper = new RedisConfig().objectMapper();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private SalaryService salaryService;
 
     private Salary testSalary;
     private SalaryRequest testSalaryRequest;
-    private final String SALARY_CACHE_KEY = "salaries";
+    private SalaryPageRequest firstPageRequest;
     private final String version = "v1";
 
     @BeforeEach
@@ -69,7 +96,11 @@ class SalaryServiceTest {
         testSalaryRequest.setSalaryDate(LocalDateTime.now());
         testSalaryRequest.setEmployee("John Doe");
 
-        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        firstPageRequest = new SalaryPageRequest();
+
+        // Cache misses by default: the loader runs against the repository
+        lenient().when(salaryCache.getPage(any(SalaryPageRequest.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<SalariesResponseWrapper>>getArgument(1).get());
     }
 
     @Test
@@ -88,144 +119,410 @@ class SalaryServiceTest {
 
         SalariesResponseWrapper cachedWrapper = new SalariesResponseWrapper(salaryResponses, List.of(new Link("self", "/api/" + version + "/salaries", "GET", version)));
 
-        when(valueOperations.get(SALARY_CACHE_KEY)).thenReturn(cachedWrapper);
-        when(objectMapper.convertValue(any(), eq(SalariesResponseWrapper.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(salaryCache.getPage(eq(firstPageRequest), any())).thenReturn(cachedWrapper);
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries();
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getData().size());
         assertEquals(testSalary.getId(), response.getBody().getData().getFirst().getSalaryId());
 
-        verify(valueOperations).get(SALARY_CACHE_KEY);
-        verify(salaryRepository, never()).findAll();
-        verify(redisTemplate, times(1)).opsForValue();
+        verify(salaryCache).getPage(eq(firstPageRequest), any());
+        verify(salaryRepository, never()).findPageAfterId(anyLong(), anyInt());
     }
 
     @Test
     void getSalaries_WhenSalariesExistInDatabase_ReturnsOkResponse() {
         List<Salary> salaryList = List.of(testSalary);
-        when(valueOperations.get(SALARY_CACHE_KEY)).thenReturn(null);
-        when(salaryRepository.findAll()).thenReturn(salaryList);
+        when(salaryRepository.findPageAfterId(0L, 51)).thenReturn(salaryList);
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries();
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getData().size());
         assertEquals(testSalary.getId(), response.getBody().getData().getFirst().getSalaryId());
-        verify(salaryRepository).findAll();
+        assertNull(response.getBody().getPage().getNextCursor());
+        verify(salaryRepository).findPageAfterId(0L, 51);
+    }
+
+    @Test
+    void getSalaries_WhenMoreRowsThanPageSize_ReturnsNextCursorAndLink() {
+        Salary secondSalary = new Salary(2L, BigDecimal.valueOf(6000), "Jane Doe", LocalDateTime.now(), 0L);
+        firstPageRequest.setSize(1);
+        when(salaryRepository.findPageAfterId(0L, 2)).thenReturn(List.of(testSalary, secondSalary));
+        when(salaryRepository.estimateCount()).thenReturn(2L);
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().getData().size());
+        assertEquals(1L, response.getBody().getPage().getNextCursor());
+        assertEquals(2L, response.getBody().getPage().getTotalElements());
+        assertEquals("/api/v1/salaries/?after=1&size=1&sort=id", response.getBody().getLinks().getLast().getHref());
+    }
+
+    @Test
+    void getSalaries_WithFullLinks_AddsLinksToEveryRow() {
+        when(salaryRepository.findPageAfterId(0L, 51)).thenReturn(List.of(testSalary));
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertNotNull(response.getBody());
+        List<Link> rowLinks = response.getBody().getData().getFirst().getLinks();
+        assertEquals(4, rowLinks.size());
+        assertEquals("self", rowLinks.getFirst().getRel());
+        assertEquals("/api/v1/salaries/edit/1", rowLinks.get(2).getHref());
+        assertEquals("/api/v1/salaries/delete/1", rowLinks.get(3).getHref());
+    }
+
+    @Test
+    void getSalaries_WithCompactLinks_ReturnsPageLevelTemplatesInsteadOfRowLinks() {
+        Salary secondSalary = new Salary(2L, BigDecimal.valueOf(6000), "Jane Doe", LocalDateTime.now(), 0L);
+        firstPageRequest.setSize(1);
+        firstPageRequest.setLinks(SalaryPageRequest.LINKS_COMPACT);
+        when(salaryRepository.findPageAfterId(0L, 2)).thenReturn(List.of(testSalary, secondSalary));
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertNotNull(response.getBody());
+        assertNull(response.getBody().getData().getFirst().getLinks());
+        List<String> hrefs = response.getBody().getLinks().stream().map(Link::getHref).toList();
+        assertEquals(List.of("/api/v1/salaries",
+                "/api/v1/salaries/?after=1&size=1&sort=id&links=compact",
+                "/api/v1/salaries/edit/{id}",
+                "/api/v1/salaries/delete/{id}"), hrefs);
+    }
+
+    @Test
+    void getSalaries_WithNoLinks_StripsLinksFromCachedRows() {
+        SalaryResponse cachedRow = SalaryResponse.builder()
+                .salaryId(1L)
+                .salary(BigDecimal.valueOf(5000))
+                .employee("John Doe")
+                .links(LinkUtils.generateLinks("get", version, "1"))
+                .build();
+        firstPageRequest.setLinks(SalaryPageRequest.LINKS_NONE);
+        when(salaryCache.getPage(eq(firstPageRequest), any())).thenReturn(new SalariesResponseWrapper(List.of(cachedRow),
+                List.of(new Link("self", "/api/" + version + "/salaries", "GET", version))));
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertNotNull(response.getBody());
+        assertNull(response.getBody().getData().getFirst().getLinks());
+        assertEquals(1, response.getBody().getLinks().size());
+        assertNotNull(cachedRow.getLinks());
+    }
+
+    @Test
+    void getRenderedSalaries_ServesTheRenderedJsonAndItsGzipCopy() throws IOException {
+        List<Salary> salaryList = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            salaryList.add(new Salary(id, BigDecimal.valueOf(5000 + id), "John Doe", LocalDateTime.of(2024, 1, 1, 0, 0), 0L));
+        }
+        when(salaryRepository.findPageAfterId(0L, 51)).thenReturn(salaryList);
+        when(salaryCache.getRenderedPage(eq("id:-:50:full"), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<RenderedSalaryPage>>getArgument(1).get());
+
+        ResponseEntity<byte[]> plain = salaryService.getRenderedSalaries(firstPageRequest, false);
+        ResponseEntity<byte[]> gzip = salaryService.getRenderedSalaries(firstPageRequest, true);
+
+        byte[] expected = objectMapper.writeValueAsBytes(salaryService.getSalaries(firstPageRequest).getBody());
+        assertEquals(HttpStatus.OK, plain.getStatusCode());
+        assertArrayEquals(expected, plain.getBody());
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeaders().getFirst(HttpHeaders.VARY));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertArrayEquals(expected, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void getSalaries_WithFilters_UsesFilteredQueryAndKeepsFiltersInNextLink() {
+        Salary secondSalary = new Salary(2L, BigDecimal.valueOf(6000), "John Doe", LocalDateTime.now(), 0L);
+        firstPageRequest.setSize(1);
+        firstPageRequest.setEmployee("John Doe");
+        firstPageRequest.setFrom(LocalDateTime.of(2024, 1, 1, 0, 0));
+        doReturn(List.of(testSalary, secondSalary)).when(salaryRepository).findBy(ArgumentMatchers.<Specification<Salary>>any(), any());
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().getData().size());
+        assertEquals(PageInfo.UNKNOWN_TOTAL, response.getBody().getPage().getTotalElements());
+        assertEquals("/api/v1/salaries/?after=1&size=1&sort=id&employee=John+Doe&from=2024-01-01T00:00",
+                response.getBody().getLinks().getLast().getHref());
+        verify(salaryRepository, never()).findPageAfterId(anyLong(), anyInt());
+        verify(salaryRepository, never()).estimateCount();
+    }
+
+    @Test
+    void getSalaries_WithFiltersMatchingNothing_ReturnsEmptyOkPage() {
+        firstPageRequest.setEmployee("Nobody");
+        doReturn(List.of()).when(salaryRepository).findBy(ArgumentMatchers.<Specification<Salary>>any(), any());
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getData().isEmpty());
+    }
+
+    @Test
+    void getSalaries_WhenSortedBySalaryDateAfterCursor_UsesSalaryDateKeyset() {
+        LocalDateTime afterDate = LocalDateTime.of(2024, 1, 31, 12, 0);
+        firstPageRequest.setSort(SalaryPageRequest.SORT_BY_SALARY_DATE);
+        firstPageRequest.setAfter(1L);
+        firstPageRequest.setAfterDate(afterDate);
+        when(salaryRepository.findPageAfterBySalaryDate(afterDate, 1L, 51)).thenReturn(List.of());
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().getData().isEmpty());
+        verify(salaryRepository, never()).findPageAfterId(anyLong(), anyInt());
+        // The cursor row isn't needed, so deleting or editing it can't end the listing
+        verify(salaryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getSalaries_WhenSortedBySalaryDate_PutsTheCursorDateInTheNextLink() {
+        LocalDateTime secondDate = LocalDateTime.of(2024, 2, 29, 12, 0);
+        firstPageRequest.setSort(SalaryPageRequest.SORT_BY_SALARY_DATE);
+        firstPageRequest.setSize(1);
+        when(salaryRepository.findFirstPageBySalaryDate(2)).thenReturn(List.of(
+                new Salary(2L, BigDecimal.TEN, "John Doe", secondDate, 0L),
+                new Salary(1L, BigDecimal.ONE, "Jane Doe", secondDate.plusDays(1), 0L)));
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(secondDate, response.getBody().getPage().getNextCursorDate());
+        assertTrue(response.getBody().getLinks().stream().anyMatch(link -> link.getRel().equals("next")
+                && link.getHref().contains("after=2&") && link.getHref().contains("&afterDate=2024-02-29T12:00")));
+    }
+
+    @Test
+    void getSalaries_WhenLegacyCursorRowIsGone_ReturnsEmptyPage() {
+        firstPageRequest.setSort(SalaryPageRequest.SORT_BY_SALARY_DATE);
+        firstPageRequest.setAfter(1L);
+        when(salaryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getData().isEmpty());
+        verify(salaryRepository, never()).findPageAfterBySalaryDate(any(), anyLong(), anyInt());
     }
 
     @Test
     void getSalaries_WhenNoSalariesExist_ReturnsNotFoundResponse() {
-        when(valueOperations.get(SALARY_CACHE_KEY)).thenReturn(null);
-        when(salaryRepository.findAll()).thenReturn(new ArrayList<>());
+        when(salaryRepository.findPageAfterId(0L, 51)).thenReturn(new ArrayList<>());
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries();
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.getSalaries(firstPageRequest);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getData().size());
         assertEquals("Couldn't find any salary. Add a salary first.",
                 response.getBody().getData().getFirst().getMessage());
-        verify(salaryRepository).findAll();
+        verify(salaryRepository).findPageAfterId(0L, 51);
     }
 
     @Test
     void addSalary_WhenSuccessful_ReturnsCreatedResponse() {
-        when(salaryRepository.save(any(Salary.class))).thenReturn(testSalary);
-        doNothing().when(salaryKafkaProducer).sendSalaryMessage(testSalary);
+        when(salaryWriteService.saveSalary(any(Salary.class))).thenReturn(testSalary);
 
         ResponseEntity<SalaryResponse> response = salaryService.addSalary(testSalaryRequest);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testSalary.getId(), response.getBody().getSalaryId());
-        verify(salaryRepository).save(any(Salary.class));
+        verify(salaryWriteService).saveSalary(any(Salary.class));
+        verify(salaryCache).salarySaved(any(SalaryResponse.class), isNull(), eq(true), eq(true));
+        verify(salaryCache, never()).invalidateAll();
     }
 
     @Test
     void addSalary_WhenSaveFails_ReturnsInternalServerError() {
-        when(salaryRepository.save(any(Salary.class))).thenThrow(new RuntimeException());
+        when(salaryWriteService.saveSalary(any(Salary.class))).thenThrow(new RuntimeException());
 
         ResponseEntity<SalaryResponse> response = salaryService.addSalary(testSalaryRequest);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("An error occurred.", response.getBody().getMessage());
-        verify(salaryRepository).save(any(Salary.class));
+        verify(salaryWriteService).saveSalary(any(Salary.class));
     }
 
     @Test
-    void editSalary_WhenSalaryExists_ReturnsCreatedResponse() {
-        when(salaryRepository.findById(1L)).thenReturn(Optional.of(testSalary));
-        when(salaryRepository.save(any(Salary.class))).thenReturn(testSalary);
-        doNothing().when(salaryKafkaProducer).sendSalaryMessage(testSalary);
+    void addSalaries_WhenSuccessful_SavesInBulkAndInvalidatesCacheOnce() {
+        Salary secondSalary = new Salary(2L, BigDecimal.valueOf(6000), "Jane Doe", LocalDateTime.now(), 0L);
+        when(salaryWriteService.createSalaries(anyList())).thenReturn(List.of(testSalary, secondSalary));
 
-        ResponseEntity<SalaryResponse> response = salaryService.editSalary(1L, testSalaryRequest);
+        ResponseEntity<SalariesResponseWrapper> response =
+                salaryService.addSalaries(List.of(testSalaryRequest, testSalaryRequest));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().getData().size());
+        assertEquals(2L, response.getBody().getData().get(1).getSalaryId());
+        verify(salaryWriteService).createSalaries(argThat(salaries -> salaries.size() == 2
+                && salaries.stream().allMatch(salary -> salary.getId() == null)));
+        verify(salaryCache, times(1)).salariesCreated(2);
+        verify(salaryCache, never()).salarySaved(any(), any(), anyBoolean(), anyBoolean());
+        verify(employeeSearchIndex).salariesCreated(Map.of("John Doe", 1L, "Jane Doe", 1L));
+        verify(salaryChangeLog).publishChanges();
+    }
+
+    @Test
+    void addSalaries_WhenSaveFails_ReturnsInternalServerErrorAndKeepsCache() {
+        when(salaryWriteService.createSalaries(anyList())).thenThrow(new RuntimeException());
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.addSalaries(List.of(testSalaryRequest));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("An error occurred.", response.getBody().getData().getFirst().getMessage());
+        verify(salaryCache, never()).salariesCreated(anyInt());
+        verify(salaryChangeLog, never()).publishChanges();
+    }
+
+    @Test
+    void editSalary_WhenSalaryExists_UpdatesInOneStatementAndReturnsItsVersion() {
+        testSalary.setVersion(4L);
+        when(salaryWriteService.updateSalary(1L, testSalaryRequest, 3L))
+                .thenReturn(Optional.of(writeResult(testSalary, "Jane Doe", testSalary.getSalaryDate())));
+
+        ResponseEntity<SalaryResponse> response = salaryService.editSalary(1L, testSalaryRequest, 3L);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(testSalary.getId(), response.getBody().getSalaryId());
-        verify(salaryRepository).findById(1L);
-        verify(salaryRepository).save(any(Salary.class));
+        assertEquals(4L, (long) response.getBody().getVersion());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        verify(salaryRepository, never()).findById(anyLong());
+        verify(salaryCache).salarySaved(any(SalaryResponse.class), eq("Jane Doe"), eq(false), eq(false));
+        verify(employeeSearchIndex).salarySaved("John Doe", "Jane Doe", false);
+        verify(salaryChangeLog).publishChanges();
     }
 
     @Test
     void editSalary_WhenSalaryNotFound_ReturnsNotFoundResponse() {
-        when(salaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(salaryWriteService.updateSalary(1L, testSalaryRequest, null)).thenReturn(Optional.empty());
 
-        ResponseEntity<SalaryResponse> response = salaryService.editSalary(1L, testSalaryRequest);
+        ResponseEntity<SalaryResponse> response = salaryService.editSalary(1L, testSalaryRequest, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("An error occurred.", response.getBody().getMessage());
-        verify(salaryRepository).findById(1L);
-        verify(salaryRepository, never()).save(any(Salary.class));
+        verify(salaryCache, never()).salarySaved(any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void editSalary_WhenVersionIsStale_ReturnsConflict() {
+        when(salaryWriteService.updateSalary(1L, testSalaryRequest, 3L))
+                .thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ResponseEntity<SalaryResponse> response = salaryService.editSalary(1L, testSalaryRequest, 3L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("An error occurred.", response.getBody().getMessage());
+        verify(salaryCache, never()).salarySaved(any(), any(), anyBoolean(), anyBoolean());
+        verify(salaryChangeLog, never()).publishChanges();
     }
 
     @Test
     void deleteSalary_WhenSalaryExists_ReturnsOkResponse() {
-        when(salaryRepository.findById(1L)).thenReturn(Optional.of(testSalary));
-        doNothing().when(salaryRepository).delete(any(Salary.class));
+        when(salaryWriteService.deleteSalary(1L, null))
+                .thenReturn(Optional.of(writeResult(testSalary, "John Doe", testSalary.getSalaryDate())));
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L);
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getData().size());
         assertEquals(testSalary.getId(), response.getBody().getData().getFirst().getSalaryId());
-        verify(salaryRepository).findById(1L);
-        verify(salaryRepository).delete(any(Salary.class));
+        verify(salaryRepository, never()).findById(anyLong());
+        verify(salaryCache).salaryDeleted(1L, "John Doe");
+        verify(employeeSearchIndex).salaryDeleted("John Doe");
+        verify(salaryChangeLog).publishChanges();
     }
 
     @Test
     void deleteSalary_WhenSalaryNotFound_ReturnsNotFoundResponse() {
-        when(salaryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(salaryWriteService.deleteSalary(1L, null)).thenReturn(Optional.empty());
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L);
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L, null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("An error occurred.", response.getBody().getData().getFirst().getMessage());
-        verify(salaryRepository).findById(1L);
-        verify(salaryRepository, never()).delete(any(Salary.class));
+        verify(salaryCache, never()).salaryDeleted(anyLong(), any());
+    }
+
+    @Test
+    void deleteSalary_WhenVersionIsStale_ReturnsConflict() {
+        when(salaryWriteService.deleteSalary(1L, 3L)).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L, 3L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        verify(salaryCache, never()).salaryDeleted(anyLong(), any());
     }
 
     @Test
     void deleteSalary_WhenDeleteFails_ReturnsInternalServerError() {
-        when(salaryRepository.findById(1L)).thenReturn(Optional.of(testSalary));
-        doThrow(new RuntimeException()).when(salaryRepository).delete(any(Salary.class));
+        when(salaryWriteService.deleteSalary(1L, null)).thenThrow(new RuntimeException());
 
-        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L);
+        ResponseEntity<SalariesResponseWrapper> response = salaryService.deleteSalary(1L, null);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("An error occurred.", response.getBody().getData().getFirst().getMessage());
-        verify(salaryRepository).findById(1L);
-        verify(salaryRepository).delete(any(Salary.class));
     }
-}
\ No newline at end of file
+
+    private static SalaryWriteResult writeResult(Salary salary, String previousEmployee, LocalDateTime previousSalaryDate) {
+        return new SalaryWriteResult() {
+            @Override
+            public Long getId() {
+                return salary.getId();
+            }
+
+            @Override
+            public BigDecimal getSalary() {
+                return salary.getSalary();
+            }
+
+            @Override
+            public String getEmployee() {
+                return salary.getEmployee();
+            }
+
+            @Override
+            public LocalDateTime getSalaryDate() {
+                return salary.getSalaryDate();
+            }
+
+            @Override
+            public Long getVersion() {
+                return salary.getVersion();
+            }
+
+            @Override
+            public String getPreviousEmployee() {
+                return previousEmployee;
+            }
+
+            @Override
+            public LocalDateTime getPreviousSalaryDate() {
+                return previousSalaryDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.cache.ReactiveSalaryCache;
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.requests.SalaryPageRequest;
+import com.balaur.backend.responses.SalaryResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryStreamServiceTest {
+
+    @Mock
+    private SalaryService salaryService;
+
+    @Mock
+    private SalaryRepository salaryRepository;
+
+    @Mock
+    private ReactiveSalaryCache reactiveSalaryCache;
+
+    @InjectMocks
+    private SalaryStreamService salaryStreamService;
+
+    @Test
+    void streamSalaries_FollowsTheCursorUntilTheLastPage() {
+        when(salaryService.findSalariesPage(argThat(request -> request != null && request.getAfter() == null), eq(2)))
+                .thenReturn(List.of(salary(1L, null), salary(2L, null)));
+        when(salaryService.findSalariesPage(argThat(request -> request != null && Long.valueOf(2L).equals(request.getAfter())), eq(2)))
+                .thenReturn(List.of(salary(3L, null)));
+
+        SalaryPageRequest pageRequest = new SalaryPageRequest();
+        pageRequest.setSize(2);
+        pageRequest.setEmployee("John Doe");
+        List<SalaryResponse> salaries = salaryStreamService.streamSalaries(pageRequest).collectList().block();
+
+        assertEquals(List.of(1L, 2L, 3L), salaries.stream().map(SalaryResponse::getSalaryId).toList());
+        assertFalse(salaries.getFirst().getLinks().isEmpty());
+        verify(salaryService).findSalariesPage(argThat(request -> request != null && Long.valueOf(2L).equals(request.getAfter())
+                && "John Doe".equals(request.getEmployee()) && request.getSize() == 2), eq(2));
+        // Streams never go through the page cache
+        verify(salaryService, never()).getSalaries(any());
+    }
+
+    @Test
+    void streamSalaries_WhenSortedBySalaryDate_CarriesTheCursorDate() {
+        LocalDateTime secondDate = LocalDateTime.of(2024, 2, 29, 12, 0);
+        when(salaryService.findSalariesPage(argThat(request -> request != null && request.getAfter() == null), eq(2)))
+                .thenReturn(List.of(salary(5L, secondDate.minusDays(1)), salary(2L, secondDate)));
+        when(salaryService.findSalariesPage(argThat(request -> request != null && Long.valueOf(2L).equals(request.getAfter())
+                && secondDate.equals(request.getAfterDate())), eq(2)))
+                .thenReturn(List.of());
+
+        SalaryPageRequest pageRequest = new SalaryPageRequest();
+        pageRequest.setSize(2);
+        pageRequest.setSort(SalaryPageRequest.SORT_BY_SALARY_DATE);
+        pageRequest.setLinks(SalaryPageRequest.LINKS_NONE);
+        List<SalaryResponse> salaries = salaryStreamService.streamSalaries(pageRequest).collectList().block();
+
+        assertEquals(List.of(5L, 2L), salaries.stream().map(SalaryResponse::getSalaryId).toList());
+        assertNull(salaries.getFirst().getLinks());
+    }
+
+    @Test
+    void streamSalaries_WhenThereAreNoSalaries_StreamsNothing() {
+        when(salaryService.findSalariesPage(any(), anyInt())).thenReturn(List.of());
+
+        List<SalaryResponse> salaries = salaryStreamService.streamSalaries(new SalaryPageRequest()).collectList().block();
+
+        assertTrue(salaries.isEmpty());
+    }
+
+    @Test
+    void getSalary_WhenCached_DoesNotQueryTheDatabase() {
+        when(reactiveSalaryCache.getSalary(1L)).thenReturn(Mono.just(row(1L)));
+
+        ResponseEntity<SalaryResponse> response = salaryStreamService.getSalary(1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, response.getBody().getSalaryId());
+        assertFalse(response.getBody().getLinks().isEmpty());
+        verify(salaryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getSalary_WhenNotCached_ReadsTheDatabase() {
+        Salary salary = new Salary();
+        salary.setId(1L);
+        salary.setSalary(new BigDecimal("5000.00"));
+        salary.setEmployee("John Doe");
+        when(reactiveSalaryCache.getSalary(1L)).thenReturn(Mono.empty());
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(salary));
+
+        ResponseEntity<SalaryResponse> response = salaryStreamService.getSalary(1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("John Doe", response.getBody().getEmployee());
+    }
+
+    @Test
+    void getSalary_WhenMissing_ReturnsNotFound() {
+        when(reactiveSalaryCache.getSalary(1L)).thenReturn(Mono.empty());
+        when(salaryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        ResponseEntity<SalaryResponse> response = salaryStreamService.getSalary(1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(-1L, response.getBody().getSalaryId());
+        assertEquals("/api/v2/salaries/1", response.getBody().getLinks().getFirst().getHref());
+    }
+
+    private static Salary salary(Long id, LocalDateTime salaryDate) {
+        return new Salary(id, new BigDecimal("1000.00"), "John Doe", salaryDate, 0L);
+    }
+
+    private static SalaryResponse row(Long id) {
+        return SalaryResponse.builder()
+                .salaryId(id)
+                .salary(new BigDecimal("1000.00"))
+                .employee("John Doe")
+                .build();
+    }
+}
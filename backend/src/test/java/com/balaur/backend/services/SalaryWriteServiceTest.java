@@ -0,0 +1,101 @@
+package com.balaur.backend.services;
+
+import com.balaur.backend.changes.SalaryChangeLog;
+import com.balaur.backend.kafka.SalaryEventOutbox;
+import com.balaur.backend.kafka.SalaryEventType;
+import com.balaur.backend.models.Salary;
+import com.balaur.backend.repositories.SalaryRepository;
+import com.balaur.backend.requests.SalaryRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalaryWriteServiceTest {
+    @Mock
+    private SalaryRepository salaryRepository;
+
+    @Mock
+    private SalaryEventOutbox salaryEventOutbox;
+
+    @Mock
+    private SalaryChangeLog salaryChangeLog;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private SalaryWriteService salaryWriteService;
+
+    @Test
+    void createSalaries_InsertsInChunksAndAppendsEventsPerChunk() {
+        List<Salary> salaries = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            salaries.add(new Salary(null, BigDecimal.valueOf(1000 + i), "Employee " + i, LocalDateTime.now(), null));
+        }
+        when(salaryRepository.saveAll(anyList())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<Salary>>getArgument(0)));
+
+        List<Salary> saved = salaryWriteService.createSalaries(salaries);
+
+        assertEquals(120, saved.size());
+        verify(salaryRepository, times(3)).saveAll(anyList());
+        verify(salaryRepository, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(salaryEventOutbox, times(2)).appendAll(eq(SalaryEventType.CREATED), argThat(chunk -> chunk.size() == 50));
+        verify(salaryEventOutbox).appendAll(eq(SalaryEventType.CREATED), argThat(chunk -> chunk.size() == 20));
+        verify(salaryChangeLog).append(eq(SalaryEventType.CREATED), argThat(ids -> ids.size() == 120));
+    }
+
+    @Test
+    void saveSalary_WhenNew_AppendsCreatedEvent() {
+        Salary salary = new Salary(null, BigDecimal.TEN, "John Doe", LocalDateTime.now(), null);
+        Salary saved = new Salary(1L, BigDecimal.TEN, "John Doe", salary.getSalaryDate(), 0L);
+        when(salaryRepository.saveAndFlush(salary)).thenReturn(saved);
+
+        salaryWriteService.saveSalary(salary);
+
+        verify(salaryEventOutbox).append(SalaryEventType.CREATED, saved);
+        verify(salaryChangeLog).append(SalaryEventType.CREATED, List.of(1L));
+    }
+
+    @Test
+    void updateSalary_WhenVersionIsStale_ThrowsWithoutAppendingEvents() {
+        SalaryRequest request = new SalaryRequest();
+        request.setSalary(BigDecimal.TEN);
+        request.setEmployee("John Doe");
+        when(salaryRepository.updateReturning(1L, BigDecimal.TEN, "John Doe", null, 3L)).thenReturn(Optional.empty());
+        when(salaryRepository.findById(1L)).thenReturn(Optional.of(new Salary(1L, BigDecimal.ONE, "John Doe", null, 4L)));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> salaryWriteService.updateSalary(1L, request, 3L));
+        verify(salaryEventOutbox, never()).append(any(), any());
+        verify(salaryChangeLog, never()).append(any(), anyList());
+    }
+
+    @Test
+    void deleteSalary_WhenMissingWithoutVersion_ReturnsEmptyWithoutASecondQuery() {
+        when(salaryRepository.deleteReturning(1L, null)).thenReturn(Optional.empty());
+
+        assertTrue(salaryWriteService.deleteSalary(1L, null).isEmpty());
+        verify(salaryRepository, never()).findById(any(Long.class));
+        verify(salaryEventOutbox, never()).append(any(), any());
+    }
+}
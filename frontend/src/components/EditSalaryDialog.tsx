@@ -36,7 +36,7 @@ const EditSalaryDialog: React.FC<ISalaryEditModalProps> = ({open, onClose, rowDa
             return;
         }
 
-        SalariesService.editSalary(rowData.salaryId, data)
+        SalariesService.editSalary(rowData.salaryId, data, rowData.version)
             .then(() => {
                 onClose();
             })
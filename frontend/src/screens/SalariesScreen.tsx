@@ -16,6 +16,9 @@ const SalariesScreen = () => {
     const [addDialogOpen, setAddDialogOpen] = useState(false);
     const [editDialogOpen, setEditDialogOpen] = useState(false);
     const [loading, setLoading] = useState(true);
+    const [loadingMore, setLoadingMore] = useState(false);
+    // Bumped on every reload from the first page, so the table goes back to its first page too
+    const [listGeneration, setListGeneration] = useState(0);
     const [selectedSalary, setSelectedSalary] = useState<SalaryResponse | null>(null);
 
     useEffect(() => {
@@ -27,6 +30,7 @@ const SalariesScreen = () => {
         SalariesService.getAllSalaries()
             .then((response: any) => {
                 setSalaries(response.data);
+                setListGeneration(generation => generation + 1);
                 setLoading(false);
             })
             .catch((e: Error) => {
@@ -35,6 +39,28 @@ const SalariesScreen = () => {
             })
     }
 
+    // The list is served in keyset pages: the next one starts after the cursor of the last
+    const fetchNextPage = () => {
+        const page = salaries?.page;
+        if (page?.nextCursor == null) {
+            return;
+        }
+
+        setLoadingMore(true);
+        SalariesService.getAllSalaries({after: page.nextCursor, afterDate: page.nextCursorDate})
+            .then((response: any) => {
+                setSalaries(current => ({
+                    ...response.data,
+                    data: [...(current?.data || []), ...response.data.data]
+                }));
+                setLoadingMore(false);
+            })
+            .catch((e: Error) => {
+                console.error(e);
+                setLoadingMore(false);
+            })
+    }
+
     const handleAdd = () => {
         setAddDialogOpen(true);
     }
@@ -65,13 +91,13 @@ const SalariesScreen = () => {
             confirmButtonText: "Yes, delete it!"
         }).then((result) => {
             if (result.isConfirmed) {
-                deleteSalary(row?.salaryId)
+                deleteSalary(row?.salaryId, row?.version)
             }
         });
     }
 
-    const deleteSalary = (id: number) => {
-        SalariesService.deleteSalary(id)
+    const deleteSalary = (id: number, version?: number) => {
+        SalariesService.deleteSalary(id, version)
             .then((response: any) => {
                 Swal.fire({
                     title: "Deleted!",
@@ -82,14 +108,18 @@ const SalariesScreen = () => {
 
                 fetchSalaries();
             })
-            .catch((e: Error) => {
+            .catch((e: any) => {
+                const conflict = e?.response?.status === 409;
                 Swal.fire({
                     icon: "error",
                     title: "Oops...",
-                    text: "Something went wrong!"
+                    text: conflict ? "This salary was changed in the meantime, review it and try again." : "Something went wrong!"
                 }).then(r => {
                 });
 
+                if (conflict) {
+                    fetchSalaries();
+                }
                 console.log(e);
             });
     }
@@ -186,11 +216,30 @@ const SalariesScreen = () => {
                 </Box>
 
                 <DataTable
-                    key={salaries?.data.length}
+                    key={listGeneration}
                     columns={columns}
                     data={salaries?.data || []}
                     pagination
                 />
+
+                {salaries?.page && (
+                    <Box display="flex" justifyContent="space-between" alignItems="center" mt={2}>
+                        <Typography variant="body2">
+                            Showing {salaries.data.length} of about {Math.max(salaries.page.totalElements, salaries.data.length)} salaries
+                        </Typography>
+                        {salaries.page.nextCursor != null && (
+                            <Button
+                                variant="outlined"
+                                color="primary"
+                                onClick={fetchNextPage}
+                                size="small"
+                                disabled={loadingMore}
+                            >
+                                Load more
+                            </Button>
+                        )}
+                    </Box>
+                )}
             </Paper>
 
             <AddSalaryDialog
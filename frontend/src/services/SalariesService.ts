@@ -1,19 +1,27 @@
 import axios from 'axios';
 import {ISalaryCreateRequest} from "../types/ISalaryCreateRequest";
+import {ISalaryFilters} from "../types/ISalaryFilters";
 
 
-const getAllSalaries = () => {
+const getAllSalaries = (filters?: ISalaryFilters) => {
     return axios.get(`/salaries/`, {
+        params: filters,
         headers: {
             'Content-Type': 'application/json'
         },
     });
 }
 
-const deleteSalary = (id : number) => {
+// With the row's version the write only applies if nobody changed the salary since, and fails with 409 otherwise
+const versionHeaders = (version?: number) => {
+    return version == null ? {} : {'If-Match': `"${version}"`};
+}
+
+const deleteSalary = (id : number, version?: number) => {
     return axios.delete(`/salaries/delete/${id}`, {
         headers: {
-            'Content-Type': 'application/json'
+            'Content-Type': 'application/json',
+            ...versionHeaders(version)
         },
     });
 }
@@ -26,8 +34,28 @@ const addSalary = (data: ISalaryCreateRequest) => {
     });
 }
 
-const editSalary = (id: number, data: ISalaryCreateRequest) => {
+const editSalary = (id: number, data: ISalaryCreateRequest, version?: number) => {
     return axios.patch(`/salaries/edit/${id}`, data, {
+        headers: {
+            'Content-Type': 'application/json',
+            ...versionHeaders(version)
+        },
+    });
+}
+
+const searchEmployees = (q: string, limit?: number) => {
+    return axios.get(`/salaries/search`, {
+        params: {q, limit},
+        headers: {
+            'Content-Type': 'application/json'
+        },
+    });
+}
+
+// since: the version of a previous response (the list ETag or the changes version); 410 means reload the list
+const getSalaryChanges = (since: number, limit?: number) => {
+    return axios.get(`/salaries/changes`, {
+        params: {since, limit},
         headers: {
             'Content-Type': 'application/json'
         },
@@ -38,7 +66,9 @@ const SalariesScreen = {
     getAllSalaries,
     deleteSalary,
     addSalary,
-    editSalary
+    editSalary,
+    searchEmployees,
+    getSalaryChanges
 }
 
 export default SalariesScreen;
\ No newline at end of file
@@ -13,11 +13,24 @@ export interface SalaryResponse {
     employee: string; // Employee name
     salaryDate: string; // Salary date in ISO 8601 format or null
     message: string | null; // Message, if any
-    links: Link[]; // List of links related to the salary
+    version?: number; // Row version, sent back as If-Match on edit and delete
+    links?: Link[]; // List of links related to the salary, left out with links=compact or links=none
+}
+
+// Keyset page metadata
+export interface PageInfo {
+    size: number; // Requested page size
+    sort: string; // "id" or "salaryDate"
+    after: number | null; // Cursor the page was requested with
+    afterDate?: string; // Salary date half of the cursor, with sort "salaryDate" only
+    nextCursor: number | null; // Cursor for the next page, null on the last page
+    nextCursorDate?: string; // Salary date half of the next cursor, with sort "salaryDate" only
+    totalElements: number; // Estimated number of salaries
 }
 
 // SalariesResponseWrapper Interface
 export interface ISalaryData {
     data: SalaryResponse[]; // List of SalaryResponse objects
     links: Link[]; // List of links for pagination or other actions
+    page?: PageInfo; // Present on paginated list responses
 }
\ No newline at end of file
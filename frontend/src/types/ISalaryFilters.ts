@@ -0,0 +1,14 @@
+export interface ISalaryFilters {
+    employee?: string;
+    from?: string;
+    to?: string;
+    minSalary?: number;
+    maxSalary?: number;
+    // full: links on every row, compact: one set of {id} link templates per page, none: no row links
+    links?: 'full' | 'compact' | 'none';
+    size?: number;
+    sort?: 'id' | 'salaryDate';
+    // Keyset cursor of the next page, from page.nextCursor and page.nextCursorDate of the previous one
+    after?: number;
+    afterDate?: string;
+}